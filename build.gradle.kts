@@ -61,6 +61,12 @@ subprojects {
 
     dependencies {
         compileOnly("org.jetbrains:annotations:24.1.0") // JetBrains Annotations
+        testCompileOnly("org.jetbrains:annotations:24.1.0") // JetBrains Annotations
+
+        // JUnit
+        testImplementation(platform("org.junit:junit-bom:5.10.2"))
+        testImplementation("org.junit.jupiter:junit-jupiter")
+        testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     }
 
     tasks {
@@ -73,5 +79,9 @@ subprojects {
             val standard = options as StandardJavadocDocletOptions
             standard.addStringOption("Xdoclint:none", "-quiet")
         }
+
+        withType<Test> {
+            useJUnitPlatform()
+        }
     }
 }
@@ -9,4 +9,8 @@ dependencies {
 
     // Spigot API
     compileOnly("org.spigotmc:spigot-api:1.8.8-R0.1-SNAPSHOT")
+
+    // Test Dependencies
+    testImplementation(project(":utility"))
+    testImplementation("org.spigotmc:spigot-api:1.8.8-R0.1-SNAPSHOT")
 }
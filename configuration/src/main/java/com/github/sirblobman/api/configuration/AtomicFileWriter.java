@@ -0,0 +1,85 @@
+package com.github.sirblobman.api.configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Writes files through a temporary file that is synced to disk and then renamed over the target,
+ * so a crash or power loss during a write never leaves a truncated or empty file behind.
+ */
+public final class AtomicFileWriter {
+    /**
+     * Write text to a file as UTF-8.
+     *
+     * @param file The file to replace.
+     * @param data The new contents of the file.
+     * @throws IOException when the file can't be written.
+     */
+    public static void write(@NotNull File file, @NotNull String data) throws IOException {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        write(file, bytes);
+    }
+
+    /**
+     * Write bytes to a file. Missing parent folders are created.
+     *
+     * @param file The file to replace.
+     * @param data The new contents of the file.
+     * @throws IOException when the file can't be written.
+     */
+    public static void write(@NotNull File file, byte @NotNull [] data) throws IOException {
+        File parentFile = file.getParentFile();
+        if (parentFile != null && !parentFile.isDirectory() && !parentFile.mkdirs()) {
+            throw new IOException("Failed to create folder '" + parentFile + "'.");
+        }
+
+        Path path = file.toPath();
+        Path tempPath = path.resolveSibling(file.getName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(true);
+        }
+
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        syncDirectory(path.getParent());
+    }
+
+    /**
+     * Sync a directory so a rename inside it survives a power loss.
+     * Platforms that can't open a directory, like Windows, are skipped.
+     *
+     * @param directory The directory to sync.
+     */
+    static void syncDirectory(@Nullable Path directory) {
+        if (directory == null) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // The platform does not support syncing a directory.
+        }
+    }
+}
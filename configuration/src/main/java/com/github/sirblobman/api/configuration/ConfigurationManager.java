@@ -8,24 +8,53 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.Plugin;
 
 import com.github.sirblobman.api.utility.Validate;
 
+/**
+ * Loads and caches configuration files for a resource holder.
+ * Configurations can be read from any thread. A reload replaces a configuration in one step after it is parsed.
+ */
 public final class ConfigurationManager {
+    private static final long SAVE_DELAY_MILLIS = 1000L;
+
     private final File baseFolder;
     private final IResourceHolder resourceHolder;
     private final Map<String, YamlConfiguration> configurationMap;
+    private final List<Consumer<String>> reloadListenerList;
+    private final Map<String, String> pendingSaveMap;
+    private final Map<String, Optional<YamlConfiguration>> defaultsMap;
+    private final Map<String, List<ConfigurationSnapshot<?>>> snapshotMap;
+    private final Map<String, Long> writtenChecksumMap;
+    private final Object saveLock;
+    private FileWatcher fileWatcher;
+    private ScheduledExecutorService saveExecutor;
+    private volatile boolean closed;
 
     /**
      * A configuration manager that use the {@link Plugin#getDataFolder()} as the base folder.
@@ -39,7 +68,13 @@ public final class ConfigurationManager {
     public ConfigurationManager(@NotNull IResourceHolder resourceHolder) {
         this.resourceHolder = resourceHolder;
         this.baseFolder = resourceHolder.getDataFolder();
-        this.configurationMap = new HashMap<>();
+        this.configurationMap = new ConcurrentHashMap<>();
+        this.reloadListenerList = new CopyOnWriteArrayList<>();
+        this.pendingSaveMap = new ConcurrentHashMap<>();
+        this.defaultsMap = new ConcurrentHashMap<>();
+        this.snapshotMap = new ConcurrentHashMap<>();
+        this.writtenChecksumMap = new ConcurrentHashMap<>();
+        this.saveLock = new Object();
     }
 
     /**
@@ -66,6 +101,21 @@ public final class ConfigurationManager {
         saveDefault(fileName, file);
     }
 
+    /**
+     * @param fileName The name of the internal file.
+     * @return {@code true} if the resource holder contains the file, otherwise {@code false}.
+     * The file is not parsed.
+     * @see IResourceHolder#getResource(String)
+     */
+    public boolean hasInternal(@NotNull String fileName) {
+        IResourceHolder resourceHolder = getResourceHolder();
+        try (InputStream inputStream = resourceHolder.getResource(fileName)) {
+            return (inputStream != null);
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
     /**
      * @param fileName The name of the internal file.
      * @return A configuration stored inside the resource holder
@@ -79,8 +129,7 @@ public final class ConfigurationManager {
             return null;
         }
 
-        try {
-            InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        try (InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
             YamlConfiguration configuration = new YamlConfiguration();
             configuration.load(inputStreamReader);
             return configuration;
@@ -91,69 +140,372 @@ public final class ConfigurationManager {
         }
     }
 
+    /**
+     * The files inside the resource holder can't change while it is loaded, so each one is only parsed once.
+     * Every call returns a new copy of the parsed tree, so a caller that changes its defaults
+     * does not change the defaults of later reloads.
+     *
+     * @param fileName The name of the internal file.
+     * @return A copy of the default configuration for a file, or {@code null} if the resource holder does not have it.
+     */
+    private @Nullable YamlConfiguration getDefaults(@NotNull String fileName) {
+        Optional<YamlConfiguration> defaults = this.defaultsMap.computeIfAbsent(fileName,
+                key -> Optional.ofNullable(getInternal(key)));
+        if (!defaults.isPresent()) {
+            return null;
+        }
+
+        YamlConfiguration copy = new YamlConfiguration();
+        copySection(defaults.get(), copy);
+        return copy;
+    }
+
+    private static void copySection(@NotNull ConfigurationSection source, @NotNull ConfigurationSection target) {
+        for (String key : source.getKeys(false)) {
+            Object value = source.get(key);
+            if (value instanceof ConfigurationSection) {
+                ConfigurationSection section = target.createSection(key);
+                copySection((ConfigurationSection) value, section);
+            } else if (value instanceof List) {
+                target.set(key, new ArrayList<>((List<?>) value));
+            } else {
+                target.set(key, value);
+            }
+        }
+    }
+
     /**
      * @param fileName The relative name of the configuration to get
      * @return A configuration from memory. If the configuration is not in memory it will be loaded from storage first.
      * If a file can't be loaded, an empty configuration will be returned.
      */
     public @NotNull YamlConfiguration get(@NotNull String fileName) {
-        YamlConfiguration configuration = this.configurationMap.getOrDefault(fileName, null);
+        YamlConfiguration configuration = this.configurationMap.get(fileName);
         if (configuration != null) {
             return configuration;
         }
 
-        reload(fileName);
-        return this.configurationMap.computeIfAbsent(fileName, key -> new YamlConfiguration());
+        return this.configurationMap.computeIfAbsent(fileName, key -> {
+            YamlConfiguration loaded = load(key, false);
+            return (loaded == null ? new YamlConfiguration() : loaded);
+        });
     }
 
     /**
      * Save a configuration from memory to storage.
+     * The file is written to a temporary file first and then renamed, so it is never left half written.
      *
      * @param fileName The relative name of the configuration.
      */
     public void save(@NotNull String fileName) {
+        YamlConfiguration configuration = this.configurationMap.get(fileName);
+        if (configuration == null) {
+            return;
+        }
+
+        String data = configuration.saveToString();
+        synchronized (this.saveLock) {
+            this.pendingSaveMap.remove(fileName);
+            write(fileName, data);
+        }
+    }
+
+    /**
+     * Save a configuration from memory to storage on a background thread.
+     * The configuration is converted to text on the current thread, so later changes are not included.
+     * Saves of the same file within one second are combined into a single write of the latest text.
+     * After {@link #flushAll()}, the configuration is written on the current thread instead.
+     *
+     * @param fileName The relative name of the configuration.
+     * @see #flushAll()
+     */
+    public void saveAsync(@NotNull String fileName) {
+        YamlConfiguration configuration = this.configurationMap.get(fileName);
+        if (configuration == null) {
+            return;
+        }
+
+        String data = configuration.saveToString();
+        if (this.pendingSaveMap.put(fileName, data) != null) {
+            return;
+        }
+
         try {
-            YamlConfiguration configuration = this.configurationMap.getOrDefault(fileName, null);
-            if (configuration == null) {
-                return;
+            ScheduledExecutorService saveExecutor = getSaveExecutor();
+            saveExecutor.schedule(() -> writePending(fileName), SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            writePending(fileName);
+        }
+    }
+
+    /**
+     * Write every pending asynchronous save on the current thread and stop the background save thread.
+     * The thread is not started again, so later asynchronous saves are written on the calling thread.
+     * This should be called when the plugin is disabled.
+     */
+    public void flushAll() {
+        for (String fileName : this.pendingSaveMap.keySet()) {
+            writePending(fileName);
+        }
+
+        ScheduledExecutorService saveExecutor;
+        synchronized (this) {
+            this.closed = true;
+            saveExecutor = this.saveExecutor;
+            this.saveExecutor = null;
+        }
+
+        if (saveExecutor == null) {
+            return;
+        }
+
+        saveExecutor.shutdown();
+        try {
+            if (!saveExecutor.awaitTermination(10L, TimeUnit.SECONDS)) {
+                Logger logger = getResourceHolder().getLogger();
+                logger.warning("Timed out while waiting for configuration files to be saved.");
             }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
 
+        for (String fileName : this.pendingSaveMap.keySet()) {
+            writePending(fileName);
+        }
+    }
+
+    private synchronized @NotNull ScheduledExecutorService getSaveExecutor() {
+        if (this.closed) {
+            throw new RejectedExecutionException("The configuration manager was flushed.");
+        }
+
+        if (this.saveExecutor == null) {
+            IResourceHolder resourceHolder = getResourceHolder();
+            String threadName = (resourceHolder.getName() + " Configuration Writer");
+            ScheduledThreadPoolExecutor saveExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            saveExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            this.saveExecutor = saveExecutor;
+        }
+
+        return this.saveExecutor;
+    }
+
+    private void writePending(@NotNull String fileName) {
+        synchronized (this.saveLock) {
+            String data = this.pendingSaveMap.remove(fileName);
+            if (data != null) {
+                write(fileName, data);
+            }
+        }
+    }
+
+    private void write(@NotNull String fileName, @NotNull String data) {
+        try {
             File file = getFile(fileName);
-            configuration.save(file);
+            byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+            AtomicFileWriter.write(file, bytes);
+            this.writtenChecksumMap.put(fileName, getChecksum(bytes));
         } catch (IOException ex) {
             Logger logger = getResourceHolder().getLogger();
             logger.log(Level.WARNING, "An I/O exception occurred while saving a configuration file:", ex);
         }
     }
 
+    /**
+     * @param bytes The contents of a file.
+     * @return The length of the contents in the high bits and their CRC32 checksum in the low bits.
+     */
+    private static long getChecksum(byte @NotNull [] bytes) {
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, bytes.length);
+        return (((long) bytes.length << 32) | checksum.getValue());
+    }
+
+    /**
+     * @param fileName The relative name of the configuration.
+     * @param file     The file of the configuration.
+     * @return {@code true} if the file still has the contents that this manager wrote last.
+     */
+    private boolean isOwnWrite(@NotNull String fileName, @NotNull File file) {
+        Long writtenChecksum = this.writtenChecksumMap.get(fileName);
+        if (writtenChecksum == null) {
+            return false;
+        }
+
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            return (writtenChecksum == getChecksum(bytes));
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
     /**
      * Load a configuration from storage into memory.
+     * The file is parsed into a new configuration that replaces the old one only after it is fully loaded,
+     * so other threads never see a configuration that is partially loaded.
+     * If the file can't be parsed, a configuration that is already in memory is kept.
      *
      * @param fileName The relative name of the configuration.
      */
     public void reload(@NotNull String fileName) {
+        boolean loaded = this.configurationMap.containsKey(fileName);
+        YamlConfiguration configuration = load(fileName, loaded);
+        if (configuration == null) {
+            return;
+        }
+
+        this.configurationMap.put(fileName, configuration);
+        List<ConfigurationSnapshot<?>> snapshotList = this.snapshotMap.get(fileName);
+        if (snapshotList != null) {
+            for (ConfigurationSnapshot<?> snapshot : snapshotList) {
+                snapshot.rebind(configuration);
+            }
+        }
+    }
+
+    /**
+     * Bind a typed value to a configuration file.
+     * The value is created when it is first requested and again after every reload of the file.
+     *
+     * @param fileName The relative name of the configuration.
+     * @param binder   A function that reads the value from the configuration. It must not return {@code null}.
+     * @param <T>      The type of value.
+     * @return A snapshot that holds the latest value.
+     */
+    public <T> @NotNull ConfigurationSnapshot<T> bind(@NotNull String fileName,
+                                                      @NotNull Function<ConfigurationSection, T> binder) {
+        Validate.notEmpty(fileName, "fileName must not be empty!");
+        ConfigurationSnapshot<T> snapshot = new ConfigurationSnapshot<>(this, fileName, binder);
+        this.snapshotMap.computeIfAbsent(fileName, key -> new CopyOnWriteArrayList<>()).add(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Bind a configurable object to a configuration file.
+     * A new object is created and loaded for every reload, so an object that was returned before is not changed.
+     *
+     * @param fileName The relative name of the configuration.
+     * @param factory  A function that creates a new object with default values.
+     * @param <T>      The type of configurable object.
+     * @return A snapshot that holds the latest object.
+     * @see IConfigurable#load(ConfigurationSection)
+     */
+    public <T extends IConfigurable> @NotNull ConfigurationSnapshot<T> bindConfigurable(@NotNull String fileName,
+                                                                                      @NotNull Supplier<T> factory) {
+        return bind(fileName, section -> {
+            T configurable = factory.get();
+            configurable.load(section);
+            return configurable;
+        });
+    }
+
+    /**
+     * @param fileName The relative name of the configuration.
+     * @param loaded   {@code true} if a configuration with the same name is already in memory.
+     * @return A new configuration, or {@code null} if the file does not exist or the configuration in memory should
+     * be kept.
+     */
+    private @Nullable YamlConfiguration load(@NotNull String fileName, boolean loaded) {
         File file = getFile(fileName);
         IResourceHolder resourceHolder = getResourceHolder();
         if (!file.exists() || !file.isFile()) {
             Logger logger = resourceHolder.getLogger();
             logger.warning("'" + fileName + "' could not be reloaded because it is not a file or does not exist!");
-            return;
+            return null;
         }
 
-        try {
-            YamlConfiguration configuration = new YamlConfiguration();
-
-            YamlConfiguration jarConfiguration = getInternal(fileName);
-            if (jarConfiguration != null) {
-                configuration.setDefaults(jarConfiguration);
-            }
+        YamlConfiguration configuration = new YamlConfiguration();
+        YamlConfiguration jarConfiguration = getDefaults(fileName);
+        if (jarConfiguration != null) {
+            configuration.setDefaults(jarConfiguration);
+        }
 
-            this.configurationMap.put(fileName, configuration);
+        try {
             configuration.load(file);
+            return configuration;
         } catch (IOException | InvalidConfigurationException ex) {
             Logger logger = resourceHolder.getLogger();
             logger.log(Level.WARNING, "An I/O exception occurred while loading a configuration file:", ex);
+            if (loaded) {
+                logger.log(Level.WARNING, "Keeping the configuration that was loaded before.");
+                return null;
+            }
+
             logger.log(Level.WARNING, "Using default configuration from jar file instead.");
+            YamlConfiguration defaultConfiguration = new YamlConfiguration();
+            if (jarConfiguration != null) {
+                defaultConfiguration.setDefaults(jarConfiguration);
+            }
+
+            return defaultConfiguration;
+        }
+    }
+
+    /**
+     * @param listener A listener that receives the name of each configuration
+     *                 that was reloaded because its file changed.
+     * @see #startWatching()
+     */
+    public void addReloadListener(@NotNull Consumer<String> listener) {
+        this.reloadListenerList.add(listener);
+    }
+
+    /**
+     * Watch the base folder and reload configurations that are in memory when their files change.
+     * Only files directly inside the base folder are watched.
+     * Changes made by {@link #save(String)} and {@link #saveAsync(String)} do not cause a reload,
+     * but changes that were not saved are lost when another program changes the file.
+     * Reloads happen on a background thread, after the file has not changed for half a second.
+     */
+    public synchronized void startWatching() {
+        if (this.fileWatcher != null) {
+            return;
+        }
+
+        IResourceHolder resourceHolder = getResourceHolder();
+        Logger logger = resourceHolder.getLogger();
+        String threadName = (resourceHolder.getName() + " Configuration Watcher");
+        FileWatcher fileWatcher = new FileWatcher(logger, threadName, 500L);
+        fileWatcher.addListener(this::onFilesChanged);
+
+        try {
+            File baseFolder = getBaseFolder();
+            fileWatcher.watch(baseFolder);
+            fileWatcher.start();
+            this.fileWatcher = fileWatcher;
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Failed to watch the configuration folder for changes:", ex);
+            fileWatcher.close();
+        }
+    }
+
+    /**
+     * Stop watching the base folder for changes.
+     */
+    public synchronized void stopWatching() {
+        if (this.fileWatcher != null) {
+            this.fileWatcher.close();
+            this.fileWatcher = null;
+        }
+    }
+
+    private void onFilesChanged(@NotNull Set<File> fileSet) {
+        for (File file : fileSet) {
+            String fileName = file.getName();
+            if (!this.configurationMap.containsKey(fileName) || !file.isFile() || isOwnWrite(fileName, file)) {
+                continue;
+            }
+
+            reload(fileName);
+            for (Consumer<String> listener : this.reloadListenerList) {
+                listener.accept(fileName);
+            }
         }
     }
 
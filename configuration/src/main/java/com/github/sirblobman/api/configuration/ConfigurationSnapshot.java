@@ -0,0 +1,93 @@
+package com.github.sirblobman.api.configuration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+/**
+ * A typed value that is read from a configuration file once per reload.
+ * The value is bound the first time it is requested and again every time the {@link ConfigurationManager}
+ * reloads the file, so code that reads it often does not need to look up paths in the configuration.
+ * A new value is created for every reload, and the old value is never changed.
+ *
+ * @param <T> The type of value.
+ * @see ConfigurationManager#bind(String, Function)
+ * @see ConfigurationManager#bindConfigurable(String, java.util.function.Supplier)
+ */
+public final class ConfigurationSnapshot<T> {
+    private final ConfigurationManager configurationManager;
+    private final String fileName;
+    private final Function<ConfigurationSection, T> binder;
+    private final List<BiConsumer<T, T>> listenerList;
+    private volatile T value;
+
+    ConfigurationSnapshot(@NotNull ConfigurationManager configurationManager, @NotNull String fileName,
+                          @NotNull Function<ConfigurationSection, T> binder) {
+        this.configurationManager = configurationManager;
+        this.fileName = fileName;
+        this.binder = binder;
+        this.listenerList = new CopyOnWriteArrayList<>();
+        this.value = null;
+    }
+
+    /**
+     * @return The name of the configuration file that this value is read from.
+     */
+    public @NotNull String getFileName() {
+        return this.fileName;
+    }
+
+    /**
+     * @return The value from the last time the configuration was loaded.
+     */
+    public @NotNull T get() {
+        T value = this.value;
+        if (value != null) {
+            return value;
+        }
+
+        synchronized (this) {
+            if (this.value == null) {
+                YamlConfiguration configuration = this.configurationManager.get(this.fileName);
+                this.value = this.binder.apply(configuration);
+            }
+
+            return this.value;
+        }
+    }
+
+    /**
+     * @param listener A listener that receives the old and new value after the configuration is reloaded.
+     *                 The old value is {@code null} if the value was never requested before the reload.
+     */
+    public void addListener(@NotNull BiConsumer<T, T> listener) {
+        this.listenerList.add(listener);
+    }
+
+    void rebind(@NotNull ConfigurationSection configuration) {
+        T oldValue;
+        T newValue = this.binder.apply(configuration);
+        synchronized (this) {
+            oldValue = this.value;
+            this.value = newValue;
+        }
+
+        for (BiConsumer<T, T> listener : this.listenerList) {
+            try {
+                listener.accept(oldValue, newValue);
+            } catch (RuntimeException ex) {
+                IResourceHolder resourceHolder = this.configurationManager.getResourceHolder();
+                Logger logger = resourceHolder.getLogger();
+                logger.log(Level.WARNING, "An error occurred in a configuration listener:", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.sirblobman.api.configuration;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Watches directories for file changes on a daemon thread.
+ * Changes are collected until no new change is seen for the debounce time,
+ * then every listener receives the set of files that changed.
+ * Sub-directories are not watched.
+ */
+public final class FileWatcher implements Closeable {
+    private final Logger logger;
+    private final String threadName;
+    private final long debounceMillis;
+    private final List<Consumer<Set<File>>> listenerList;
+    private final Map<WatchKey, Path> directoryMap;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * @param logger         The logger used for errors.
+     * @param threadName     The name of the watcher thread.
+     * @param debounceMillis The amount of time to wait for more changes before the listeners are called.
+     */
+    public FileWatcher(@NotNull Logger logger, @NotNull String threadName, long debounceMillis) {
+        this.logger = logger;
+        this.threadName = threadName;
+        this.debounceMillis = Math.max(0L, debounceMillis);
+        this.listenerList = new CopyOnWriteArrayList<>();
+        this.directoryMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param listener A listener that receives the files that changed. Listeners are called on the watcher thread.
+     */
+    public void addListener(@NotNull Consumer<Set<File>> listener) {
+        this.listenerList.add(listener);
+    }
+
+    /**
+     * Start watching a directory for created, modified, and deleted files.
+     *
+     * @param directory The directory to watch.
+     * @throws IOException when the directory can't be watched.
+     */
+    public synchronized void watch(@NotNull File directory) throws IOException {
+        if (this.watchService == null) {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        }
+
+        Path path = directory.toPath();
+        WatchKey key = path.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.directoryMap.put(key, path);
+    }
+
+    /**
+     * Start the watcher thread. This does nothing if the thread is already running or no directory is watched.
+     */
+    public synchronized void start() {
+        if (this.thread != null || this.watchService == null) {
+            return;
+        }
+
+        WatchService watchService = this.watchService;
+        Thread thread = new Thread(() -> run(watchService), this.threadName);
+        thread.setDaemon(true);
+        thread.start();
+        this.thread = thread;
+    }
+
+    /**
+     * Stop the watcher thread and stop watching all directories.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.thread != null) {
+            this.thread.interrupt();
+            this.thread = null;
+        }
+
+        if (this.watchService != null) {
+            try {
+                this.watchService.close();
+            } catch (IOException ex) {
+                this.logger.log(Level.WARNING, "Failed to close a file watcher:", ex);
+            }
+
+            this.watchService = null;
+        }
+
+        this.directoryMap.clear();
+    }
+
+    private void run(@NotNull WatchService watchService) {
+        Set<File> pendingSet = new LinkedHashSet<>();
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key;
+                if (pendingSet.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    key = watchService.poll(this.debounceMillis, TimeUnit.MILLISECONDS);
+                }
+
+                if (key == null) {
+                    Set<File> changedSet = Collections.unmodifiableSet(new LinkedHashSet<>(pendingSet));
+                    pendingSet.clear();
+                    callListeners(changedSet);
+                    continue;
+                }
+
+                Path directory = this.directoryMap.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (directory != null && context instanceof Path) {
+                        Path path = directory.resolve((Path) context);
+                        pendingSet.add(path.toFile());
+                    }
+                }
+
+                if (!key.reset()) {
+                    this.directoryMap.remove(key);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+            // The watcher was closed.
+        }
+    }
+
+    private void callListeners(@NotNull Set<File> changedSet) {
+        for (Consumer<Set<File>> listener : this.listenerList) {
+            try {
+                listener.accept(changedSet);
+            } catch (RuntimeException ex) {
+                this.logger.log(Level.WARNING, "An error occurred while handling a file change:", ex);
+            }
+        }
+    }
+}
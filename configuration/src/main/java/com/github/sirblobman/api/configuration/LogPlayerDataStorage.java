@@ -0,0 +1,786 @@
+package com.github.sirblobman.api.configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An embedded, log-structured player data storage that keeps every player in a few large segment files.
+ * Each write is appended to the newest segment as a checksummed record and synced to disk,
+ * and an index in memory points to the latest record of each player.
+ * <p>
+ * The index is saved to a checkpoint file by {@link #compact()} and {@link #close()},
+ * so only records written after the last checkpoint are scanned when the storage is opened.
+ * A record that was only partly written before a crash fails its checksum and is removed.
+ * {@link #compact()} copies the live records out of old segments and deletes them
+ * once more than half of the stored bytes belong to replaced records.
+ * <p>
+ * Only one storage can have a folder open at a time. The folder is locked until {@link #close()}.
+ */
+public final class LogPlayerDataStorage implements PlayerDataStorage {
+    private static final int RECORD_MAGIC = 0x50444C52;
+    private static final int RECORD_HEADER_LENGTH = 24;
+    private static final int CHECKSUM_LENGTH = 4;
+
+    private static final int INDEX_MAGIC = 0x50444C49;
+    private static final int INDEX_VERSION = 1;
+    private static final int INDEX_HEADER_LENGTH = 28;
+    private static final int INDEX_ENTRY_LENGTH = 36;
+    private static final String INDEX_FILE_NAME = "index.dat";
+    private static final String LOCK_FILE_NAME = "storage.lock";
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final long DEFAULT_MAX_SEGMENT_SIZE = (64L * 1024L * 1024L);
+    private static final long MIN_COMPACT_BYTES = (8L * 1024L * 1024L);
+
+    private final File folder;
+    private final Logger logger;
+    private final long maxSegmentSize;
+    private final Map<UUID, Location> indexMap;
+    private final NavigableMap<Long, Segment> segmentMap;
+    private final ReadWriteLock segmentLock;
+    private final Object writeLock;
+    private final Object compactLock;
+
+    private FileChannel lockChannel;
+    private FileLock folderLock;
+    private Segment activeSegment;
+    private long deadBytes;
+    private boolean changed;
+    private volatile boolean closed;
+
+    private LogPlayerDataStorage(@NotNull File folder, @NotNull Logger logger, long maxSegmentSize) {
+        this.folder = folder;
+        this.logger = logger;
+        this.maxSegmentSize = maxSegmentSize;
+        this.indexMap = new ConcurrentHashMap<>();
+        this.segmentMap = new ConcurrentSkipListMap<>();
+        this.segmentLock = new ReentrantReadWriteLock();
+        this.writeLock = new Object();
+        this.compactLock = new Object();
+        this.lockChannel = null;
+        this.folderLock = null;
+        this.activeSegment = null;
+        this.deadBytes = 0L;
+        this.changed = false;
+        this.closed = false;
+    }
+
+    /**
+     * Open a storage folder, or create it if it does not exist.
+     * Records that were written after the last checkpoint are recovered from the segment files.
+     *
+     * @param folder The folder that contains the segment and index files.
+     * @param logger The logger used for recovery warnings.
+     * @return The opened storage.
+     * @throws IOException when the folder can't be created or read, or another storage has it open.
+     */
+    public static @NotNull LogPlayerDataStorage open(@NotNull File folder, @NotNull Logger logger)
+            throws IOException {
+        return open(folder, logger, DEFAULT_MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param folder         The folder that contains the segment and index files.
+     * @param logger         The logger used for recovery warnings.
+     * @param maxSegmentSize The size in bytes after which a new segment file is started.
+     * @return The opened storage.
+     * @throws IOException when the folder can't be created or read, or another storage has it open.
+     * @see #open(File, Logger)
+     */
+    public static @NotNull LogPlayerDataStorage open(@NotNull File folder, @NotNull Logger logger,
+                                                     long maxSegmentSize) throws IOException {
+        LogPlayerDataStorage storage = new LogPlayerDataStorage(folder, logger, Math.max(1024L, maxSegmentSize));
+        try {
+            storage.recover();
+        } catch (IOException | RuntimeException ex) {
+            storage.closeSegments();
+            throw ex;
+        }
+
+        return storage;
+    }
+
+    /**
+     * @return The folder that contains the segment and index files.
+     */
+    public @NotNull File getFolder() {
+        return this.folder;
+    }
+
+    @Override
+    public @Nullable String read(@NotNull UUID playerId) throws IOException {
+        this.segmentLock.readLock().lock();
+        try {
+            checkOpen();
+            Location location = this.indexMap.get(playerId);
+            if (location == null) {
+                return null;
+            }
+
+            Record record = readRecord(location);
+            return new String(record.data, StandardCharsets.UTF_8);
+        } finally {
+            this.segmentLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void write(@NotNull UUID playerId, @NotNull String data) throws IOException {
+        write(playerId, data, true);
+    }
+
+    /**
+     * Append the data of a player without syncing it to disk.
+     * The data is only durable after {@link #finishImport()}.
+     */
+    @Override
+    public void importData(@NotNull UUID playerId, @NotNull String data) throws IOException {
+        write(playerId, data, false);
+    }
+
+    /**
+     * Sync every record that was appended by {@link #importData(UUID, String)} to disk.
+     * Sealed segments were already synced when the next segment was started.
+     */
+    @Override
+    public void finishImport() throws IOException {
+        synchronized (this.writeLock) {
+            checkOpen();
+            Segment activeSegment = this.activeSegment;
+            activeSegment.channel.force(false);
+        }
+    }
+
+    private void write(@NotNull UUID playerId, @NotNull String data, boolean sync) throws IOException {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = encode(playerId, bytes);
+
+        synchronized (this.writeLock) {
+            checkOpen();
+            Location location = append(record, sync);
+            Location previous = this.indexMap.put(playerId, location);
+            if (previous != null) {
+                this.deadBytes += previous.length;
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(@NotNull UUID playerId) {
+        return this.indexMap.containsKey(playerId);
+    }
+
+    @Override
+    public void forEachPlayer(@NotNull Consumer<UUID> action) {
+        for (UUID playerId : this.indexMap.keySet()) {
+            action.accept(playerId);
+        }
+    }
+
+    /**
+     * Save a checkpoint of the index, and remove old segment files
+     * if more than half of the stored bytes belong to replaced records.
+     * Reads and writes can continue while the live records are copied.
+     *
+     * @throws IOException when a segment or the index can't be written.
+     */
+    @Override
+    public void compact() throws IOException {
+        synchronized (this.compactLock) {
+            List<Segment> sealedList;
+            synchronized (this.writeLock) {
+                checkOpen();
+                long totalBytes = getTotalBytes();
+                if (this.deadBytes < MIN_COMPACT_BYTES || (this.deadBytes * 2L) < totalBytes) {
+                    if (this.changed) {
+                        writeCheckpoint();
+                    }
+
+                    return;
+                }
+
+                Segment firstSegment = roll();
+                NavigableMap<Long, Segment> sealedMap = this.segmentMap.headMap(firstSegment.id, false);
+                sealedList = new ArrayList<>(sealedMap.values());
+            }
+
+            Set<Long> sealedIdSet = new HashSet<>();
+            for (Segment segment : sealedList) {
+                sealedIdSet.add(segment.id);
+            }
+
+            for (Map.Entry<UUID, Location> entry : this.indexMap.entrySet()) {
+                Location location = entry.getValue();
+                if (!sealedIdSet.contains(location.segmentId)) {
+                    continue;
+                }
+
+                UUID playerId = entry.getKey();
+                Record record = readRecord(location);
+                ByteBuffer buffer = encode(playerId, record.data);
+
+                synchronized (this.writeLock) {
+                    checkOpen();
+                    if (this.indexMap.get(playerId) == location) {
+                        Location copy = append(buffer, false);
+                        this.indexMap.put(playerId, copy);
+                    }
+                }
+            }
+
+            synchronized (this.writeLock) {
+                checkOpen();
+                for (Segment segment : this.segmentMap.values()) {
+                    if (!sealedIdSet.contains(segment.id)) {
+                        segment.channel.force(false);
+                    }
+                }
+
+                writeCheckpoint();
+            }
+
+            this.segmentLock.writeLock().lock();
+            try {
+                checkOpen();
+                for (Segment segment : sealedList) {
+                    deleteSegment(segment);
+                }
+            } finally {
+                this.segmentLock.writeLock().unlock();
+            }
+
+            synchronized (this.writeLock) {
+                recalculateDeadBytes();
+            }
+        }
+    }
+
+    /**
+     * Save a checkpoint of the index and close every segment file.
+     *
+     * @throws IOException when the checkpoint can't be written.
+     */
+    @Override
+    public void close() throws IOException {
+        this.segmentLock.writeLock().lock();
+        try {
+            synchronized (this.writeLock) {
+                if (this.closed) {
+                    return;
+                }
+
+                try {
+                    if (this.changed) {
+                        writeCheckpoint();
+                    }
+                } finally {
+                    this.closed = true;
+                    closeSegments();
+                }
+            }
+        } finally {
+            this.segmentLock.writeLock().unlock();
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("The player data storage in '" + this.folder + "' is closed.");
+        }
+    }
+
+    private void recover() throws IOException {
+        File folder = getFolder();
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Failed to create folder '" + folder + "'.");
+        }
+
+        lockFolder();
+
+        Path folderPath = folder.toPath();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folderPath,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                long segmentId = parseSegmentId(fileName);
+                if (segmentId > 0L) {
+                    openSegment(segmentId);
+                }
+            }
+        }
+
+        long scanSegmentId = 0L;
+        long scanOffset = 0L;
+        Checkpoint checkpoint = readCheckpoint();
+        if (checkpoint != null) {
+            this.indexMap.putAll(checkpoint.indexMap);
+            scanSegmentId = checkpoint.segmentId;
+            scanOffset = checkpoint.offset;
+
+            Set<Long> liveIdSet = new HashSet<>();
+            for (Location location : checkpoint.indexMap.values()) {
+                liveIdSet.add(location.segmentId);
+            }
+
+            NavigableMap<Long, Segment> oldMap = this.segmentMap.headMap(scanSegmentId, false);
+            for (Segment segment : new ArrayList<>(oldMap.values())) {
+                if (!liveIdSet.contains(segment.id)) {
+                    deleteSegment(segment);
+                }
+            }
+        }
+
+        Map.Entry<Long, Segment> lastEntry = this.segmentMap.lastEntry();
+        NavigableMap<Long, Segment> scanMap = this.segmentMap.tailMap(scanSegmentId, true);
+        for (Segment segment : scanMap.values()) {
+            long offset = (segment.id == scanSegmentId ? scanOffset : 0L);
+            boolean last = (segment == lastEntry.getValue());
+            scan(segment, offset, last);
+        }
+
+        if (lastEntry == null) {
+            this.activeSegment = openSegment(1L);
+        } else {
+            this.activeSegment = lastEntry.getValue();
+        }
+
+        recalculateDeadBytes();
+    }
+
+    private void scan(@NotNull Segment segment, long offset, boolean truncate) throws IOException {
+        long position = offset;
+        long size = segment.channel.size();
+        while (position < size) {
+            Record record = readRecord(segment, position, size);
+            if (record == null) {
+                String logMessage = "Found an incomplete player data record in '" + segment.file
+                        + "' at position " + position + ".";
+                this.logger.warning(logMessage);
+
+                if (truncate) {
+                    segment.channel.truncate(position);
+                    segment.channel.force(true);
+                }
+
+                break;
+            }
+
+            int length = (RECORD_HEADER_LENGTH + record.data.length + CHECKSUM_LENGTH);
+            Location location = new Location(segment.id, position, length);
+            this.indexMap.put(record.playerId, location);
+            position += length;
+        }
+
+        segment.size = position;
+    }
+
+    /**
+     * Lock the folder, so a second storage can't append to the same segments with a different index.
+     *
+     * @throws IOException when the lock file can't be opened or the folder is already locked.
+     */
+    private void lockFolder() throws IOException {
+        File lockFile = new File(getFolder(), LOCK_FILE_NAME);
+        Path lockPath = lockFile.toPath();
+        FileChannel lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lockChannel = lockChannel;
+
+        FileLock folderLock;
+        try {
+            folderLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            folderLock = null;
+        }
+
+        if (folderLock == null) {
+            throw new IOException("The player data storage in '" + getFolder() + "' is already open.");
+        }
+
+        this.folderLock = folderLock;
+    }
+
+    private @Nullable Checkpoint readCheckpoint() {
+        File indexFile = new File(getFolder(), INDEX_FILE_NAME);
+        if (!indexFile.isFile()) {
+            return null;
+        }
+
+        try {
+            Path indexPath = indexFile.toPath();
+            byte[] bytes = Files.readAllBytes(indexPath);
+            if (bytes.length < (INDEX_HEADER_LENGTH + CHECKSUM_LENGTH)) {
+                return null;
+            }
+
+            int dataLength = (bytes.length - CHECKSUM_LENGTH);
+            CRC32 checksum = new CRC32();
+            checksum.update(bytes, 0, dataLength);
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt(dataLength) != (int) checksum.getValue()) {
+                this.logger.warning("Ignoring a damaged player data index in '" + getFolder() + "'.");
+                return null;
+            }
+
+            if (buffer.getInt() != INDEX_MAGIC || buffer.getInt() != INDEX_VERSION) {
+                return null;
+            }
+
+            long segmentId = buffer.getLong();
+            long offset = buffer.getLong();
+            int count = buffer.getInt();
+            if (count < 0 || ((long) count * INDEX_ENTRY_LENGTH) != (dataLength - INDEX_HEADER_LENGTH)) {
+                return null;
+            }
+
+            Segment coveredSegment = this.segmentMap.get(segmentId);
+            if (coveredSegment == null || offset > coveredSegment.size) {
+                return null;
+            }
+
+            Map<UUID, Location> indexMap = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                UUID playerId = new UUID(buffer.getLong(), buffer.getLong());
+                Location location = new Location(buffer.getLong(), buffer.getLong(), buffer.getInt());
+
+                Segment segment = this.segmentMap.get(location.segmentId);
+                if (segment == null || (location.offset + location.length) > segment.size) {
+                    return null;
+                }
+
+                indexMap.put(playerId, location);
+            }
+
+            return new Checkpoint(segmentId, offset, indexMap);
+        } catch (IOException ex) {
+            this.logger.log(Level.WARNING, "Failed to read the player data index in '" + getFolder() + "':", ex);
+            return null;
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Segment activeSegment = this.activeSegment;
+        int count = this.indexMap.size();
+        int capacity = (INDEX_HEADER_LENGTH + (count * INDEX_ENTRY_LENGTH) + CHECKSUM_LENGTH);
+
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream(capacity);
+        DataOutputStream output = new DataOutputStream(byteStream);
+        output.writeInt(INDEX_MAGIC);
+        output.writeInt(INDEX_VERSION);
+        output.writeLong(activeSegment.id);
+        output.writeLong(activeSegment.size);
+        output.writeInt(count);
+
+        int written = 0;
+        for (Map.Entry<UUID, Location> entry : this.indexMap.entrySet()) {
+            UUID playerId = entry.getKey();
+            Location location = entry.getValue();
+            output.writeLong(playerId.getMostSignificantBits());
+            output.writeLong(playerId.getLeastSignificantBits());
+            output.writeLong(location.segmentId);
+            output.writeLong(location.offset);
+            output.writeInt(location.length);
+            written++;
+        }
+
+        if (written != count) {
+            throw new IOException("The player data index changed while it was saved.");
+        }
+
+        byte[] bytes = byteStream.toByteArray();
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, bytes.length);
+
+        output.writeInt((int) checksum.getValue());
+        byte[] data = byteStream.toByteArray();
+
+        File indexFile = new File(getFolder(), INDEX_FILE_NAME);
+        AtomicFileWriter.write(indexFile, data);
+
+        this.changed = false;
+    }
+
+    private @NotNull Location append(@NotNull ByteBuffer record, boolean sync) throws IOException {
+        Segment segment = this.activeSegment;
+        int length = record.remaining();
+        if (segment.size > 0L && (segment.size + length) > this.maxSegmentSize) {
+            segment = roll();
+        }
+
+        long offset = segment.size;
+        try {
+            writeFully(segment.channel, record, offset);
+            if (sync) {
+                segment.channel.force(false);
+            }
+        } catch (IOException ex) {
+            try {
+                segment.channel.truncate(offset);
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+
+            throw ex;
+        }
+
+        segment.size = (offset + length);
+        this.changed = true;
+        return new Location(segment.id, offset, length);
+    }
+
+    private @NotNull Segment roll() throws IOException {
+        Segment segment = this.activeSegment;
+        segment.channel.force(false);
+
+        Segment nextSegment = openSegment(segment.id + 1L);
+        this.activeSegment = nextSegment;
+        return nextSegment;
+    }
+
+    private @NotNull Record readRecord(@NotNull Location location) throws IOException {
+        Segment segment = this.segmentMap.get(location.segmentId);
+        if (segment == null) {
+            throw new IOException("Missing player data segment " + location.segmentId + ".");
+        }
+
+        long limit = (location.offset + location.length);
+        Record record = readRecord(segment, location.offset, limit);
+        if (record == null) {
+            throw new IOException("Damaged player data record in '" + segment.file + "' at position "
+                    + location.offset + ".");
+        }
+
+        return record;
+    }
+
+    private @Nullable Record readRecord(@NotNull Segment segment, long position, long limit) throws IOException {
+        if ((position + RECORD_HEADER_LENGTH + CHECKSUM_LENGTH) > limit) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+        readFully(segment.channel, header, position);
+        header.flip();
+
+        int magic = header.getInt();
+        UUID playerId = new UUID(header.getLong(), header.getLong());
+        int dataLength = header.getInt();
+        if (magic != RECORD_MAGIC || dataLength < 0
+                || (position + RECORD_HEADER_LENGTH + dataLength + CHECKSUM_LENGTH) > limit) {
+            return null;
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(dataLength + CHECKSUM_LENGTH);
+        readFully(segment.channel, body, position + RECORD_HEADER_LENGTH);
+        body.flip();
+
+        byte[] data = new byte[dataLength];
+        body.get(data);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(header.array(), 4, RECORD_HEADER_LENGTH - 4);
+        checksum.update(data, 0, dataLength);
+        if (body.getInt() != (int) checksum.getValue()) {
+            return null;
+        }
+
+        return new Record(playerId, data);
+    }
+
+    private static @NotNull ByteBuffer encode(@NotNull UUID playerId, byte @NotNull [] data) {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_LENGTH + data.length + CHECKSUM_LENGTH);
+        buffer.putInt(RECORD_MAGIC);
+        buffer.putLong(playerId.getMostSignificantBits());
+        buffer.putLong(playerId.getLeastSignificantBits());
+        buffer.putInt(data.length);
+        buffer.put(data);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), 4, RECORD_HEADER_LENGTH - 4 + data.length);
+        buffer.putInt((int) checksum.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer, long position)
+            throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static void readFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer, long position)
+            throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Unexpected end of a player data segment.");
+            }
+
+            offset += read;
+        }
+    }
+
+    private @NotNull Segment openSegment(long segmentId) throws IOException {
+        String fileName = String.format(Locale.US, "%s%016d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX);
+        File file = new File(getFolder(), fileName);
+        Path path = file.toPath();
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Segment segment = new Segment(segmentId, file, channel);
+        segment.size = channel.size();
+        this.segmentMap.put(segmentId, segment);
+        return segment;
+    }
+
+    private void deleteSegment(@NotNull Segment segment) throws IOException {
+        this.segmentMap.remove(segment.id);
+        segment.channel.close();
+
+        Path path = segment.file.toPath();
+        Files.deleteIfExists(path);
+    }
+
+    private void closeSegments() {
+        for (Segment segment : this.segmentMap.values()) {
+            try {
+                segment.channel.close();
+            } catch (IOException ex) {
+                this.logger.log(Level.WARNING, "Failed to close '" + segment.file + "':", ex);
+            }
+        }
+
+        unlockFolder();
+    }
+
+    private void unlockFolder() {
+        FileChannel lockChannel = this.lockChannel;
+        if (lockChannel == null) {
+            return;
+        }
+
+        try {
+            FileLock folderLock = this.folderLock;
+            if (folderLock != null) {
+                folderLock.release();
+            }
+
+            lockChannel.close();
+        } catch (IOException ex) {
+            this.logger.log(Level.WARNING, "Failed to unlock '" + getFolder() + "':", ex);
+        }
+
+        this.lockChannel = null;
+        this.folderLock = null;
+    }
+
+    private static long parseSegmentId(@NotNull String fileName) {
+        int endIndex = (fileName.length() - SEGMENT_SUFFIX.length());
+        String idString = fileName.substring(SEGMENT_PREFIX.length(), endIndex);
+        try {
+            return Long.parseLong(idString);
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    private long getTotalBytes() {
+        long totalBytes = 0L;
+        for (Segment segment : this.segmentMap.values()) {
+            totalBytes += segment.size;
+        }
+
+        return totalBytes;
+    }
+
+    private void recalculateDeadBytes() {
+        long liveBytes = 0L;
+        for (Location location : this.indexMap.values()) {
+            liveBytes += location.length;
+        }
+
+        this.deadBytes = Math.max(0L, getTotalBytes() - liveBytes);
+    }
+
+    private static final class Segment {
+        private final long id;
+        private final File file;
+        private final FileChannel channel;
+        private volatile long size;
+
+        private Segment(long id, @NotNull File file, @NotNull FileChannel channel) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+
+    private static final class Location {
+        private final long segmentId;
+        private final long offset;
+        private final int length;
+
+        private Location(long segmentId, long offset, int length) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private static final class Record {
+        private final UUID playerId;
+        private final byte[] data;
+
+        private Record(@NotNull UUID playerId, byte @NotNull [] data) {
+            this.playerId = playerId;
+            this.data = data;
+        }
+    }
+
+    private static final class Checkpoint {
+        private final long segmentId;
+        private final long offset;
+        private final Map<UUID, Location> indexMap;
+
+        private Checkpoint(long segmentId, long offset, @NotNull Map<UUID, Location> indexMap) {
+            this.segmentId = segmentId;
+            this.offset = offset;
+            this.indexMap = indexMap;
+        }
+    }
+}
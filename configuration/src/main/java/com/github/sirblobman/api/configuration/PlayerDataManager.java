@@ -2,26 +2,98 @@ package com.github.sirblobman.api.configuration;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.io.UncheckedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import com.github.sirblobman.api.configuration.listener.PlayerDataListener;
+
 public final class PlayerDataManager {
+    private static final int IO_THREAD_COUNT = 2;
+    private static final int WRITE_LOCK_COUNT = 32;
+    private static final long COMPACTION_INTERVAL_MINUTES = 10L;
+    private static final String MIGRATED_MARKER_NAME = "migrated-from-yaml";
+
     private final Plugin plugin;
     private final Map<UUID, YamlConfiguration> configurationMap;
+    private final Map<UUID, CompletableFuture<YamlConfiguration>> loadingMap;
+    private final Map<UUID, String> pendingMap;
+    private final Object[] writeLocks;
+    private final Map<UUID, Long> lastAccessMap;
+    private final Map<UUID, EvictedReference> evictedMap;
+    private final ReferenceQueue<YamlConfiguration> evictedQueue;
+    private final Set<UUID> onlineSet;
+    private ExecutorService ioExecutor;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> flushTask;
+    private ScheduledFuture<?> evictionTask;
+    private ScheduledFuture<?> compactionTask;
+    private PlayerDataStorage storage;
+    private volatile PlayerDataListener listener;
+    private volatile boolean preloadOnLogin;
+    private volatile boolean batchSaving;
+    private volatile boolean evictOnQuit;
+    private volatile boolean closed;
+    private volatile long idleNanos;
+    private volatile int maxCachedPlayers;
 
     public PlayerDataManager(@NotNull Plugin plugin) {
         this.plugin = plugin;
-        this.configurationMap = new HashMap<>();
+        this.configurationMap = new ConcurrentHashMap<>();
+        this.loadingMap = new ConcurrentHashMap<>();
+        this.pendingMap = new ConcurrentHashMap<>();
+        this.writeLocks = new Object[WRITE_LOCK_COUNT];
+        for (int i = 0; i < WRITE_LOCK_COUNT; i++) {
+            this.writeLocks[i] = new Object();
+        }
+
+        this.lastAccessMap = new ConcurrentHashMap<>();
+        this.evictedMap = new ConcurrentHashMap<>();
+        this.evictedQueue = new ReferenceQueue<>();
+        this.onlineSet = ConcurrentHashMap.newKeySet();
+        this.ioExecutor = null;
+        this.scheduler = null;
+        this.flushTask = null;
+        this.evictionTask = null;
+        this.compactionTask = null;
+        this.storage = null;
+        this.listener = null;
+        this.preloadOnLogin = false;
+        this.batchSaving = false;
+        this.evictOnQuit = false;
+        this.closed = false;
+        this.idleNanos = 0L;
+        this.maxCachedPlayers = 0;
     }
 
     private @NotNull Plugin getPlugin() {
@@ -33,43 +105,720 @@ public final class PlayerDataManager {
         return plugin.getLogger();
     }
 
+    /**
+     * @return {@code true} if {@link #shutdown()} was called.
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    private void checkOpen() {
+        if (this.closed) {
+            Plugin plugin = getPlugin();
+            throw new IllegalStateException("The player data manager for " + plugin.getName() + " was shut down.");
+        }
+    }
+
+    /**
+     * Load the data of each player on {@link org.bukkit.event.player.AsyncPlayerPreLoginEvent},
+     * so it is already in memory when the player joins. This should be called when the plugin is enabled.
+     */
+    public synchronized void enablePreloadOnLogin() {
+        checkOpen();
+        this.preloadOnLogin = true;
+        registerListener();
+    }
+
+    /**
+     * @return {@code true} if player data is loaded before a player joins.
+     * @see #enablePreloadOnLogin()
+     */
+    public boolean isPreloadOnLogin() {
+        return this.preloadOnLogin;
+    }
+
+    /**
+     * Change {@link #save(OfflinePlayer)} to only mark the data of a player as changed.
+     * The configuration is still converted to text on the thread that saves it,
+     * but the text is written on a background thread at a fixed interval, and on {@link #shutdown()}.
+     * This should be called when the plugin is enabled.
+     *
+     * @param intervalMillis The time between two writes of changed data, in milliseconds.
+     */
+    public synchronized void enableBatchSaving(long intervalMillis) {
+        checkOpen();
+        if (this.flushTask != null) {
+            return;
+        }
+
+        long interval = Math.max(50L, intervalMillis);
+        ScheduledExecutorService scheduler = getScheduler();
+        this.flushTask = scheduler.scheduleWithFixedDelay(this::flushDirty, interval, interval, TimeUnit.MILLISECONDS);
+        this.batchSaving = true;
+        registerListener();
+    }
+
+    /**
+     * @return {@code true} if changed data is written in batches.
+     * @see #enableBatchSaving(long)
+     */
+    public boolean isBatchSaving() {
+        return this.batchSaving;
+    }
+
+    /**
+     * Remove the data of a player from memory after they quit and their changed data is written.
+     * This should be called when the plugin is enabled.
+     *
+     * @param evictOnQuit {@code true} to remove data when a player quits.
+     */
+    public synchronized void setEvictOnQuit(boolean evictOnQuit) {
+        this.evictOnQuit = evictOnQuit;
+        if (evictOnQuit) {
+            registerListener();
+        }
+    }
+
+    /**
+     * @return {@code true} if data is removed from memory when a player quits.
+     * @see #setEvictOnQuit(boolean)
+     */
+    public boolean isEvictOnQuit() {
+        return this.evictOnQuit;
+    }
+
+    /**
+     * Limit the data of offline players that is kept in memory, for example after leaderboard lookups.
+     * Data of online players is never removed. Changed data is written before it is removed.
+     * This should be called on the main thread when the plugin is enabled, because it starts tracking online players.
+     *
+     * @param idleMillis       Remove data that was not used for this amount of time, or {@code 0} for no limit.
+     * @param maxCachedPlayers Remove the least recently used data when more players are in memory,
+     *                         or {@code 0} for no limit.
+     */
+    public synchronized void setEvictionPolicy(long idleMillis, int maxCachedPlayers) {
+        checkOpen();
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, idleMillis));
+        this.maxCachedPlayers = Math.max(0, maxCachedPlayers);
+
+        if (this.evictionTask != null) {
+            this.evictionTask.cancel(false);
+            this.evictionTask = null;
+        }
+
+        if (idleMillis <= 0L && maxCachedPlayers <= 0) {
+            return;
+        }
+
+        registerListener();
+        long interval = (idleMillis > 0L ? Math.min(Math.max(idleMillis / 2L, 1000L), 60000L) : 10000L);
+        ScheduledExecutorService scheduler = getScheduler();
+        this.evictionTask = scheduler.scheduleWithFixedDelay(this::evictIdle, interval, interval,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return The amount of players that have data in memory.
+     */
+    public int getCachedPlayerCount() {
+        return this.configurationMap.size();
+    }
+
+    /**
+     * @param playerId The unique id of the player.
+     * @return {@code true} if the data of the player is in memory and was not evicted.
+     */
+    boolean isCached(@NotNull UUID playerId) {
+        return this.configurationMap.containsKey(playerId);
+    }
+
+    /**
+     * Write the data of a player if it changed and then remove it from memory, on a background I/O thread.
+     * The data is not removed if the player is online or the data could not be written.
+     * A configuration that is still used after it was removed is put back into memory
+     * by the next {@link #get(OfflinePlayer)} or {@link #save(OfflinePlayer)}.
+     * This should be called on the main thread.
+     *
+     * @param playerId The unique id of the player.
+     * @return A future that completes with {@code true} if the data is no longer in memory.
+     */
+    public @NotNull CompletableFuture<Boolean> evict(@NotNull UUID playerId) {
+        if (isOnline(playerId)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        try {
+            ExecutorService ioExecutor = getIOExecutor();
+            return CompletableFuture.supplyAsync(() -> evictNow(playerId), ioExecutor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    /**
+     * Track a player that joined the server. This is called by {@link PlayerDataListener}.
+     *
+     * @param playerId The unique id of the player.
+     */
+    public void onPlayerJoin(@NotNull UUID playerId) {
+        this.onlineSet.add(playerId);
+    }
+
+    /**
+     * Track a player that left the server, and remove their data from memory if that is enabled.
+     * This is called by {@link PlayerDataListener}.
+     *
+     * @param playerId The unique id of the player.
+     * @see #setEvictOnQuit(boolean)
+     */
+    public void onPlayerQuit(@NotNull UUID playerId) {
+        this.onlineSet.remove(playerId);
+        if (this.evictOnQuit) {
+            evict(playerId);
+        }
+    }
+
+    private boolean isOnline(@NotNull UUID playerId) {
+        if (this.listener != null) {
+            return this.onlineSet.contains(playerId);
+        }
+
+        return (Bukkit.isPrimaryThread() && Bukkit.getPlayer(playerId) != null);
+    }
+
+    private boolean evictNow(@NotNull UUID playerId) {
+        expungeEvicted();
+        if (this.listener != null && this.onlineSet.contains(playerId)) {
+            return false;
+        }
+
+        YamlConfiguration configuration = this.configurationMap.get(playerId);
+        if (configuration == null) {
+            this.lastAccessMap.remove(playerId);
+            return true;
+        }
+
+        flush(playerId);
+        synchronized (getWriteLock(playerId)) {
+            if (this.pendingMap.containsKey(playerId)) {
+                return false;
+            }
+
+            if (this.configurationMap.remove(playerId, configuration)) {
+                EvictedReference reference = new EvictedReference(playerId, configuration, this.evictedQueue);
+                this.evictedMap.put(playerId, reference);
+            }
+
+            this.lastAccessMap.remove(playerId);
+            return true;
+        }
+    }
+
+    private void expungeEvicted() {
+        Reference<? extends YamlConfiguration> reference;
+        while ((reference = this.evictedQueue.poll()) != null) {
+            EvictedReference evicted = (EvictedReference) reference;
+            this.evictedMap.remove(evicted.playerId, evicted);
+        }
+    }
+
+    /**
+     * @param playerId The unique id of the player.
+     * @return The configuration of the player from memory, including a configuration that was evicted
+     * but is still used somewhere, or {@code null} if it must be loaded from the storage.
+     */
+    private @Nullable YamlConfiguration getLoaded(@NotNull UUID playerId) {
+        YamlConfiguration configuration = this.configurationMap.get(playerId);
+        if (configuration != null) {
+            return configuration;
+        }
+
+        EvictedReference reference = this.evictedMap.remove(playerId);
+        YamlConfiguration evicted = (reference == null ? null : reference.get());
+        if (evicted == null) {
+            return null;
+        }
+
+        YamlConfiguration previous = this.configurationMap.putIfAbsent(playerId, evicted);
+        return (previous == null ? evicted : previous);
+    }
+
+    /**
+     * Remove the data of offline players that is over the limits of the eviction policy.
+     * Nothing is removed before the listener that tracks online players is registered.
+     */
+    void evictIdle() {
+        if (this.listener == null) {
+            return;
+        }
+
+        long idleNanos = this.idleNanos;
+        int maxCachedPlayers = this.maxCachedPlayers;
+        long now = System.nanoTime();
+
+        List<Map.Entry<UUID, Long>> offlineList = new ArrayList<>();
+        for (Map.Entry<UUID, Long> entry : this.lastAccessMap.entrySet()) {
+            UUID playerId = entry.getKey();
+            if (this.onlineSet.contains(playerId)) {
+                continue;
+            }
+
+            long lastAccess = entry.getValue();
+            if (idleNanos > 0L && (now - lastAccess) >= idleNanos) {
+                evictNow(playerId);
+            } else {
+                offlineList.add(new AbstractMap.SimpleImmutableEntry<>(playerId, lastAccess));
+            }
+        }
+
+        int extraCount = (this.configurationMap.size() - maxCachedPlayers);
+        if (maxCachedPlayers <= 0 || extraCount <= 0) {
+            return;
+        }
+
+        offlineList.sort(Map.Entry.comparingByValue());
+        for (Map.Entry<UUID, Long> entry : offlineList) {
+            if (extraCount <= 0) {
+                break;
+            }
+
+            if (evictNow(entry.getKey())) {
+                extraCount--;
+            }
+        }
+    }
+
+    private void touch(@NotNull UUID playerId) {
+        this.lastAccessMap.put(playerId, System.nanoTime());
+    }
+
+    /**
+     * @return The storage that player data is read from and written to.
+     * By default, this is a {@link YamlPlayerDataStorage} in the 'playerdata' folder.
+     * When 'player-data-storage' is set to 'log' in the 'config.yml' file of the plugin,
+     * this is a {@link LogPlayerDataStorage} in the {@link #getLogStorageFolder()} folder.
+     * @see #openConfiguredStorage()
+     */
+    public synchronized @NotNull PlayerDataStorage getStorage() {
+        if (this.storage == null) {
+            this.storage = openConfiguredStorage();
+        }
+
+        return this.storage;
+    }
+
+    /**
+     * Open the storage that is selected in the 'config.yml' file of the plugin.
+     * The first time the 'log' storage is opened, the YAML files in the 'playerdata' folder are copied into it
+     * before any player data is loaded, so no change is lost. The YAML files are kept as a backup.
+     * If the 'log' storage can't be opened, the YAML files are used.
+     *
+     * @return The configured storage.
+     */
+    private @NotNull PlayerDataStorage openConfiguredStorage() {
+        Plugin plugin = getPlugin();
+        FileConfiguration configuration = plugin.getConfig();
+        String storageType = configuration.getString("player-data-storage", "yaml");
+
+        File yamlFolder = new File(plugin.getDataFolder(), "playerdata");
+        YamlPlayerDataStorage yamlStorage = new YamlPlayerDataStorage(yamlFolder);
+        if (!"log".equalsIgnoreCase(storageType)) {
+            return yamlStorage;
+        }
+
+        File folder = getLogStorageFolder();
+        Logger logger = getLogger();
+        LogPlayerDataStorage logStorage = null;
+        try {
+            logStorage = LogPlayerDataStorage.open(folder, logger);
+            File markerFile = new File(folder, MIGRATED_MARKER_NAME);
+            if (!markerFile.exists()) {
+                logger.info("Copying player data files into '" + folder + "', this can take a while...");
+                int count = copy(yamlStorage, logStorage);
+                AtomicFileWriter.write(markerFile, "");
+                logger.info("Copied the data of " + count + " players into '" + folder + "'.");
+            }
+
+            scheduleCompaction();
+            return logStorage;
+        } catch (IOException | UncheckedIOException ex) {
+            logger.log(Level.WARNING, "Failed to open the player data storage, using YAML files instead:", ex);
+            closeStorage(logStorage);
+            return yamlStorage;
+        }
+    }
+
+    /**
+     * Change the storage that player data is read from and written to.
+     * This should be called when the plugin is enabled, before any player data is loaded.
+     * The storage is compacted in the background and closed on {@link #shutdown()}.
+     *
+     * @param storage The new storage.
+     * @throws IllegalStateException when player data was already loaded.
+     */
+    public synchronized void setStorage(@NotNull PlayerDataStorage storage) {
+        checkOpen();
+        if (!this.configurationMap.isEmpty() || !this.loadingMap.isEmpty()) {
+            throw new IllegalStateException("The storage can't be changed after player data was loaded.");
+        }
+
+        PlayerDataStorage previous = this.storage;
+        this.storage = storage;
+        closeStorage(previous);
+        scheduleCompaction();
+    }
+
+    private synchronized void scheduleCompaction() {
+        if (this.compactionTask == null) {
+            ScheduledExecutorService scheduler = getScheduler();
+            this.compactionTask = scheduler.scheduleWithFixedDelay(this::compactStorage,
+                    COMPACTION_INTERVAL_MINUTES, COMPACTION_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Store player data in a {@link LogPlayerDataStorage} in the {@link #getLogStorageFolder()} folder
+     * instead of one YAML file for each player.
+     * Existing YAML files can be copied with {@link #migrate(PlayerDataStorage)}.
+     * Plugins that let the server owner choose should use the 'player-data-storage' setting instead.
+     *
+     * @throws IOException when the storage can't be opened.
+     * @see #setStorage(PlayerDataStorage)
+     */
+    public void useLogStorage() throws IOException {
+        File folder = getLogStorageFolder();
+        Logger logger = getLogger();
+        LogPlayerDataStorage storage = LogPlayerDataStorage.open(folder, logger);
+
+        try {
+            setStorage(storage);
+        } catch (IllegalStateException ex) {
+            closeStorage(storage);
+            throw ex;
+        }
+    }
+
+    /**
+     * @return The folder used by {@link #useLogStorage()}.
+     */
+    public @NotNull File getLogStorageFolder() {
+        Plugin plugin = getPlugin();
+        File dataFolder = plugin.getDataFolder();
+        return new File(dataFolder, "playerdata-store");
+    }
+
+    /**
+     * Copy the data of every player from the current storage into another storage, on a background I/O thread.
+     * Changed data is written to the current storage first. Players are copied one at a time,
+     * so the data of every player does not have to fit in memory. The current storage is not changed,
+     * so changes made after the copy are not in the target storage.
+     * To switch a plugin to the log storage without losing changes, use the 'player-data-storage' setting instead.
+     *
+     * @param target The storage to copy the data to. It is not closed when the copy is finished.
+     * @return A future that completes with the amount of players that were copied.
+     */
+    public @NotNull CompletableFuture<Integer> migrate(@NotNull PlayerDataStorage target) {
+        checkOpen();
+        PlayerDataStorage source = getStorage();
+        if (source == target) {
+            throw new IllegalArgumentException("The target storage is the current storage.");
+        }
+
+        ExecutorService ioExecutor = getIOExecutor();
+        return CompletableFuture.supplyAsync(() -> {
+            flushAll();
+
+            try {
+                return copy(source, target);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, ioExecutor);
+    }
+
+    /**
+     * Import the data of every player from one storage into another, then sync and compact the target once.
+     *
+     * @return The amount of players that were copied.
+     */
+    private static int copy(@NotNull PlayerDataStorage source, @NotNull PlayerDataStorage target) throws IOException {
+        AtomicInteger count = new AtomicInteger(0);
+        source.forEachPlayer(playerId -> {
+            try {
+                String data = source.read(playerId);
+                if (data != null) {
+                    target.importData(playerId, data);
+                    count.incrementAndGet();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+
+        target.finishImport();
+        target.compact();
+        return count.get();
+    }
+
+    private void compactStorage() {
+        PlayerDataStorage storage = getStorage();
+        try {
+            ExecutorService ioExecutor = getIOExecutor();
+            ioExecutor.execute(() -> {
+                try {
+                    storage.compact();
+                } catch (IOException ex) {
+                    Logger logger = getLogger();
+                    logger.log(Level.WARNING, "Failed to compact player data storage:", ex);
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+            // The manager is shutting down.
+        }
+    }
+
+    private void closeStorage(@Nullable PlayerDataStorage storage) {
+        if (storage == null) {
+            return;
+        }
+
+        try {
+            storage.close();
+        } catch (IOException ex) {
+            Logger logger = getLogger();
+            logger.log(Level.WARNING, "Failed to close player data storage:", ex);
+        }
+    }
+
+    private synchronized void registerListener() {
+        if (this.listener == null) {
+            Plugin plugin = getPlugin();
+            PlayerDataListener listener = new PlayerDataListener(plugin, this);
+            listener.register();
+
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                UUID playerId = player.getUniqueId();
+                this.onlineSet.add(playerId);
+            }
+
+            this.listener = listener;
+        }
+    }
+
     /**
      * Fetch the data configuration for the specified player.
      * If the player does not have any data, the configuration will be empty.
+     * If the data is being loaded on another thread, this method waits for it.
      *
      * @param player The player who owns the configuration
      * @return A configuration from memory. If the configuration is not in memory it will be loaded from a file.
+     * @see #getAsync(OfflinePlayer)
      */
     public @NotNull YamlConfiguration get(@NotNull OfflinePlayer player) {
+        checkOpen();
         UUID playerId = player.getUniqueId();
-        YamlConfiguration configuration = this.configurationMap.getOrDefault(playerId, null);
+        touch(playerId);
+
+        YamlConfiguration configuration = getLoaded(playerId);
         if (configuration != null) {
             return configuration;
         }
 
-        reload(player);
-        return get(player);
+        CompletableFuture<YamlConfiguration> loading = this.loadingMap.get(playerId);
+        if (loading != null) {
+            YamlConfiguration loaded = loading.exceptionally(ex -> null).join();
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+
+        YamlConfiguration loaded = loadIntoMemory(playerId);
+        return (loaded == null ? new YamlConfiguration() : loaded);
     }
 
     /**
-     * Saves a player configuration to a file
+     * Fetch the data configuration for the specified player without blocking the current thread.
+     * If the configuration is not in memory, it is loaded on a background thread.
      *
      * @param player The player who owns the configuration
+     * @return A future that completes with the configuration, or completes exceptionally if it can't be loaded.
+     */
+    public @NotNull CompletableFuture<YamlConfiguration> getAsync(@NotNull OfflinePlayer player) {
+        UUID playerId = player.getUniqueId();
+        return loadAsync(playerId);
+    }
+
+    private @NotNull CompletableFuture<YamlConfiguration> loadAsync(@NotNull UUID playerId) {
+        checkOpen();
+        touch(playerId);
+        YamlConfiguration configuration = getLoaded(playerId);
+        if (configuration != null) {
+            return CompletableFuture.completedFuture(configuration);
+        }
+
+        CompletableFuture<YamlConfiguration> future = new CompletableFuture<>();
+        CompletableFuture<YamlConfiguration> existing = this.loadingMap.putIfAbsent(playerId, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        ExecutorService ioExecutor;
+        try {
+            ioExecutor = getIOExecutor();
+        } catch (RejectedExecutionException ex) {
+            this.loadingMap.remove(playerId, future);
+            future.completeExceptionally(ex);
+            return future;
+        }
+
+        ioExecutor.execute(() -> {
+            try {
+                YamlConfiguration loaded = getLoaded(playerId);
+                if (loaded == null) {
+                    loaded = load(playerId);
+                    YamlConfiguration previous = this.configurationMap.putIfAbsent(playerId, loaded);
+                    loaded = (previous == null ? loaded : previous);
+                }
+
+                future.complete(loaded);
+            } catch (IOException | InvalidConfigurationException | RuntimeException ex) {
+                logLoadError(playerId, ex);
+                future.completeExceptionally(ex);
+            } finally {
+                this.loadingMap.remove(playerId, future);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Load the data for a player on the current thread if it is not already in memory.
+     * This is used to load data before a player joins.
+     *
+     * @param playerId The unique id of the player.
+     */
+    public void preload(@NotNull UUID playerId) {
+        if (this.closed) {
+            return;
+        }
+
+        touch(playerId);
+        if (getLoaded(playerId) != null) {
+            return;
+        }
+
+        CompletableFuture<YamlConfiguration> loading = this.loadingMap.get(playerId);
+        if (loading != null) {
+            loading.exceptionally(ex -> null).join();
+            return;
+        }
+
+        loadIntoMemory(playerId);
+    }
+
+    /**
+     * Saves a player configuration to a file.
+     * The configuration is converted to text on the current thread, which should be the thread that changed it.
+     * When batch saving is enabled, the text is only marked as changed and written later.
+     *
+     * @param player The player who owns the configuration
+     * @see #enableBatchSaving(long)
      */
     public void save(@NotNull OfflinePlayer player) {
         UUID playerId = player.getUniqueId();
-        YamlConfiguration configuration = this.configurationMap.getOrDefault(playerId, null);
+        if (!markPending(playerId)) {
+            return;
+        }
+
+        if (!this.batchSaving) {
+            flush(playerId);
+        }
+    }
+
+    /**
+     * Mark the data of a player as changed, so it is written by the next batch.
+     * The configuration is converted to text on the current thread, which should be the thread that changed it.
+     *
+     * @param player The player who owns the configuration
+     */
+    public void markDirty(@NotNull OfflinePlayer player) {
+        UUID playerId = player.getUniqueId();
+        markPending(playerId);
+    }
+
+    /**
+     * @param player The player who owns the configuration
+     * @return {@code true} if the data of the player changed and was not written yet.
+     */
+    public boolean isDirty(@NotNull OfflinePlayer player) {
+        UUID playerId = player.getUniqueId();
+        return this.pendingMap.containsKey(playerId);
+    }
+
+    private boolean markPending(@NotNull UUID playerId) {
+        checkOpen();
+        YamlConfiguration configuration = getLoaded(playerId);
         if (configuration == null) {
+            Logger logger = getLogger();
+            logger.warning("Ignoring a save for player '" + playerId + "' because their data is not loaded.");
+            return false;
+        }
+
+        String data = configuration.saveToString();
+        this.pendingMap.put(playerId, data);
+        return true;
+    }
+
+    /**
+     * Write the data of every player that changed, using the background I/O threads.
+     * This method waits until every write is finished.
+     */
+    public void flushDirty() {
+        if (this.pendingMap.isEmpty()) {
             return;
         }
 
+        List<UUID> playerIdList = new ArrayList<>(this.pendingMap.keySet());
+        List<CompletableFuture<Void>> futureList = new ArrayList<>(playerIdList.size());
         try {
-            File file = getFile(player);
-            configuration.save(file);
-        } catch (IOException ex) {
-            Logger logger = getLogger();
-            String logMessage = "Failed to save data for player '" + playerId + "':";
-            logger.log(Level.WARNING, logMessage, ex);
+            ExecutorService ioExecutor = getIOExecutor();
+            for (UUID playerId : playerIdList) {
+                futureList.add(CompletableFuture.runAsync(() -> flush(playerId), ioExecutor));
+            }
+        } catch (RejectedExecutionException ex) {
+            return;
+        }
+
+        CompletableFuture<?>[] futureArray = futureList.toArray(new CompletableFuture<?>[0]);
+        CompletableFuture.allOf(futureArray).join();
+    }
+
+    /**
+     * Write the data of every player that changed on the current thread.
+     */
+    public void flushAll() {
+        for (UUID playerId : new ArrayList<>(this.pendingMap.keySet())) {
+            flush(playerId);
+        }
+    }
+
+    private void flush(@NotNull UUID playerId) {
+        synchronized (getWriteLock(playerId)) {
+            String data = this.pendingMap.remove(playerId);
+            if (data == null) {
+                return;
+            }
+
+            try {
+                PlayerDataStorage storage = getStorage();
+                storage.write(playerId, data);
+            } catch (IOException | RuntimeException ex) {
+                this.pendingMap.putIfAbsent(playerId, data);
+                Logger logger = getLogger();
+                String logMessage = "Failed to save data for player '" + playerId + "':";
+                logger.log(Level.WARNING, logMessage, ex);
+            }
         }
     }
 
@@ -79,14 +828,15 @@ public final class PlayerDataManager {
      * @param player The player who owns the configuration
      */
     public void reload(OfflinePlayer player) {
+        checkOpen();
         UUID playerId = player.getUniqueId();
         try {
-            YamlConfiguration configuration = load(player);
+            YamlConfiguration configuration = load(playerId);
             this.configurationMap.put(playerId, configuration);
+            this.evictedMap.remove(playerId);
+            touch(playerId);
         } catch (IOException | InvalidConfigurationException ex) {
-            Logger logger = getLogger();
-            String logMessage = "Failed to load data for player '" + playerId + "':";
-            logger.log(Level.WARNING, logMessage, ex);
+            logLoadError(playerId, ex);
         }
     }
 
@@ -94,34 +844,154 @@ public final class PlayerDataManager {
      * Check if the specified player has any data.
      *
      * @param player The player to check
-     * @return {@code true} if the data file exists, otherwise {@code false}.
-     * @see File#exists()
+     * @return {@code true} if the player has stored data, otherwise {@code false}.
+     * @see PlayerDataStorage#contains(UUID)
      */
     public boolean hasData(@NotNull OfflinePlayer player) {
-        File playerFile = getFile(player);
-        return playerFile.exists();
+        UUID playerId = player.getUniqueId();
+        PlayerDataStorage storage = getStorage();
+        return storage.contains(playerId);
     }
 
-    private File getFile(@NotNull OfflinePlayer player) {
-        Plugin plugin = getPlugin();
-        File dataFolder = plugin.getDataFolder();
-        File playerDataFolder = new File(dataFolder, "playerdata");
+    /**
+     * Stop the background threads, then write the data of every player that changed on the current thread
+     * and close the storage. {@code ConfigurablePlugin} calls this when the plugin is disabled.
+     * After this method, loading or saving player data throws an
+     * {@link IllegalStateException} instead of starting new background threads.
+     */
+    public void shutdown() {
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
 
-        UUID playerId = player.getUniqueId();
-        String playerIdString = playerId.toString();
-        String fileName = (playerIdString + ".data.yml");
-        return new File(playerDataFolder, fileName);
+            this.closed = true;
+            scheduler = this.scheduler;
+            this.scheduler = null;
+            this.flushTask = null;
+            this.evictionTask = null;
+            this.compactionTask = null;
+            this.batchSaving = false;
+        }
+
+        awaitShutdown(scheduler);
+
+        ExecutorService ioExecutor;
+        synchronized (this) {
+            ioExecutor = this.ioExecutor;
+            this.ioExecutor = null;
+        }
+
+        awaitShutdown(ioExecutor);
+        flushAll();
+
+        PlayerDataStorage storage = getStorage();
+        closeStorage(storage);
     }
 
-    private @NotNull YamlConfiguration load(@NotNull OfflinePlayer player)
-            throws IOException, InvalidConfigurationException {
-        File playerFile = getFile(player);
-        if (!playerFile.exists()) {
-            return new YamlConfiguration();
+    private void awaitShutdown(@Nullable ExecutorService executor) {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10L, TimeUnit.SECONDS)) {
+                Logger logger = getLogger();
+                logger.warning("Timed out while waiting for player data tasks to finish.");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized @NotNull ScheduledExecutorService getScheduler() {
+        if (this.closed) {
+            throw new RejectedExecutionException("The player data manager was shut down.");
+        }
+
+        if (this.scheduler == null) {
+            Plugin plugin = getPlugin();
+            String threadName = (plugin.getName() + " Player Data Scheduler");
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            this.scheduler = scheduler;
+        }
+
+        return this.scheduler;
+    }
+
+    private synchronized @NotNull ExecutorService getIOExecutor() {
+        if (this.closed) {
+            throw new RejectedExecutionException("The player data manager was shut down.");
+        }
+
+        if (this.ioExecutor == null) {
+            Plugin plugin = getPlugin();
+            String threadName = (plugin.getName() + " Player Data I/O");
+            this.ioExecutor = Executors.newFixedThreadPool(IO_THREAD_COUNT, runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return this.ioExecutor;
+    }
+
+    private @Nullable YamlConfiguration loadIntoMemory(@NotNull UUID playerId) {
+        YamlConfiguration loaded = getLoaded(playerId);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        try {
+            YamlConfiguration configuration = load(playerId);
+            YamlConfiguration previous = this.configurationMap.putIfAbsent(playerId, configuration);
+            return (previous == null ? configuration : previous);
+        } catch (IOException | InvalidConfigurationException ex) {
+            logLoadError(playerId, ex);
+            return null;
         }
+    }
+
+    private @NotNull Object getWriteLock(@NotNull UUID playerId) {
+        int index = ((playerId.hashCode() & Integer.MAX_VALUE) % WRITE_LOCK_COUNT);
+        return this.writeLocks[index];
+    }
+
+    private void logLoadError(@NotNull UUID playerId, @NotNull Throwable ex) {
+        Logger logger = getLogger();
+        String logMessage = "Failed to load data for player '" + playerId + "':";
+        logger.log(Level.WARNING, logMessage, ex);
+    }
+
+    private @NotNull YamlConfiguration load(@NotNull UUID playerId)
+            throws IOException, InvalidConfigurationException {
+        PlayerDataStorage storage = getStorage();
+        String data = storage.read(playerId);
 
         YamlConfiguration configuration = new YamlConfiguration();
-        configuration.load(playerFile);
+        if (data != null) {
+            configuration.loadFromString(data);
+        }
+
         return configuration;
     }
+
+    private static final class EvictedReference extends WeakReference<YamlConfiguration> {
+        private final UUID playerId;
+
+        private EvictedReference(@NotNull UUID playerId, @NotNull YamlConfiguration configuration,
+                                 @NotNull ReferenceQueue<YamlConfiguration> queue) {
+            super(configuration, queue);
+            this.playerId = playerId;
+        }
+    }
 }
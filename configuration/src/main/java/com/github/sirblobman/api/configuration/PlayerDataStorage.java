@@ -0,0 +1,79 @@
+package com.github.sirblobman.api.configuration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A place where {@link PlayerDataManager} stores the serialized YAML data of each player.
+ * Implementations must be safe to use from more than one thread.
+ *
+ * @see YamlPlayerDataStorage
+ * @see LogPlayerDataStorage
+ */
+public interface PlayerDataStorage extends Closeable {
+    /**
+     * @param playerId The unique id of the player.
+     * @return The stored data of the player, or {@code null} if the player does not have any data.
+     * @throws IOException when the data can't be read.
+     */
+    @Nullable String read(@NotNull UUID playerId) throws IOException;
+
+    /**
+     * Replace the stored data of a player. The data must be durable when this method returns.
+     *
+     * @param playerId The unique id of the player.
+     * @param data     The serialized YAML data.
+     * @throws IOException when the data can't be written.
+     */
+    void write(@NotNull UUID playerId, @NotNull String data) throws IOException;
+
+    /**
+     * Replace the stored data of a player as part of a bulk import.
+     * The data only has to be durable after {@link #finishImport()} returns,
+     * so storage types can skip the sync of every single write.
+     *
+     * @param playerId The unique id of the player.
+     * @param data     The serialized YAML data.
+     * @throws IOException when the data can't be written.
+     */
+    default void importData(@NotNull UUID playerId, @NotNull String data) throws IOException {
+        write(playerId, data);
+    }
+
+    /**
+     * Make the data of every {@link #importData(UUID, String)} call durable.
+     *
+     * @throws IOException when the data can't be synced.
+     */
+    default void finishImport() throws IOException {
+        // Every import is already durable by default.
+    }
+
+    /**
+     * @param playerId The unique id of the player.
+     * @return {@code true} if the player has stored data.
+     */
+    boolean contains(@NotNull UUID playerId);
+
+    /**
+     * Call an action for every player that has stored data, without loading every id into memory at once.
+     *
+     * @param action The action to call.
+     * @throws IOException when the stored players can't be listed.
+     */
+    void forEachPlayer(@NotNull Consumer<UUID> action) throws IOException;
+
+    /**
+     * Reclaim space that is used by old data. Storage types that don't need this do nothing.
+     *
+     * @throws IOException when the storage can't be compacted.
+     */
+    default void compact() throws IOException {
+        // Nothing to compact by default.
+    }
+}
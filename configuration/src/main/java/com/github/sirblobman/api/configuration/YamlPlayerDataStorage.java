@@ -0,0 +1,99 @@
+package com.github.sirblobman.api.configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The default player data storage, with one '{@code <uuid>.data.yml}' file for each player.
+ */
+public final class YamlPlayerDataStorage implements PlayerDataStorage {
+    private static final String FILE_SUFFIX = ".data.yml";
+
+    private final File folder;
+
+    /**
+     * @param folder The folder that contains the player data files.
+     */
+    public YamlPlayerDataStorage(@NotNull File folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * @return The folder that contains the player data files.
+     */
+    public @NotNull File getFolder() {
+        return this.folder;
+    }
+
+    @Override
+    public @Nullable String read(@NotNull UUID playerId) throws IOException {
+        File file = getFile(playerId);
+        if (!file.exists()) {
+            return null;
+        }
+
+        Path path = file.toPath();
+        byte[] bytes = Files.readAllBytes(path);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void write(@NotNull UUID playerId, @NotNull String data) throws IOException {
+        File file = getFile(playerId);
+        AtomicFileWriter.write(file, data);
+    }
+
+    @Override
+    public boolean contains(@NotNull UUID playerId) {
+        File file = getFile(playerId);
+        return file.exists();
+    }
+
+    @Override
+    public void forEachPlayer(@NotNull Consumer<UUID> action) throws IOException {
+        File folder = getFolder();
+        if (!folder.isDirectory()) {
+            return;
+        }
+
+        Path folderPath = folder.toPath();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folderPath, "*" + FILE_SUFFIX)) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                String playerIdString = fileName.substring(0, fileName.length() - FILE_SUFFIX.length());
+
+                UUID playerId;
+                try {
+                    playerId = UUID.fromString(playerIdString);
+                } catch (IllegalArgumentException ex) {
+                    continue;
+                }
+
+                action.accept(playerId);
+            }
+        } catch (NoSuchFileException ignored) {
+            // The folder was removed.
+        }
+    }
+
+    @Override
+    public void close() {
+        // Every write is already on disk.
+    }
+
+    private @NotNull File getFile(@NotNull UUID playerId) {
+        String playerIdString = playerId.toString();
+        String fileName = (playerIdString + FILE_SUFFIX);
+        return new File(this.folder, fileName);
+    }
+}
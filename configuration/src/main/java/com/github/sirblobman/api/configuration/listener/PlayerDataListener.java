@@ -0,0 +1,73 @@
+package com.github.sirblobman.api.configuration.listener;
+
+import java.util.UUID;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent.Result;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import com.github.sirblobman.api.configuration.PlayerDataManager;
+
+public final class PlayerDataListener implements Listener {
+    private final Plugin plugin;
+    private final PlayerDataManager playerDataManager;
+
+    public PlayerDataListener(@NotNull Plugin plugin, @NotNull PlayerDataManager playerDataManager) {
+        this.plugin = plugin;
+        this.playerDataManager = playerDataManager;
+    }
+
+    private @NotNull Plugin getPlugin() {
+        return this.plugin;
+    }
+
+    private @NotNull PlayerDataManager getPlayerDataManager() {
+        return this.playerDataManager;
+    }
+
+    public void register() {
+        Plugin plugin = getPlugin();
+        PluginManager pluginManager = Bukkit.getPluginManager();
+        pluginManager.registerEvents(this, plugin);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent e) {
+        Result result = e.getLoginResult();
+        PlayerDataManager playerDataManager = getPlayerDataManager();
+        if (result != Result.ALLOWED || !playerDataManager.isPreloadOnLogin()) {
+            return;
+        }
+
+        UUID playerId = e.getUniqueId();
+        playerDataManager.preload(playerId);
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent e) {
+        Player player = e.getPlayer();
+        UUID playerId = player.getUniqueId();
+
+        PlayerDataManager playerDataManager = getPlayerDataManager();
+        playerDataManager.onPlayerJoin(playerId);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        Player player = e.getPlayer();
+        UUID playerId = player.getUniqueId();
+
+        PlayerDataManager playerDataManager = getPlayerDataManager();
+        playerDataManager.onPlayerQuit(playerId);
+    }
+}
@@ -0,0 +1,241 @@
+package com.github.sirblobman.api.configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LogPlayerDataStorageTest {
+    private static final Logger LOGGER = Logger.getLogger("LogPlayerDataStorageTest");
+
+    @Test
+    void writeReadAndReplace(@TempDir Path folder) throws IOException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        LogPlayerDataStorage storage = LogPlayerDataStorage.open(folder.toFile(), LOGGER);
+        try {
+            assertNull(storage.read(first));
+            assertFalse(storage.contains(first));
+
+            storage.write(first, "name: first");
+            storage.write(second, "name: second");
+            storage.write(first, "name: first-replaced");
+
+            assertEquals("name: first-replaced", storage.read(first));
+            assertEquals("name: second", storage.read(second));
+            assertTrue(storage.contains(second));
+
+            Set<UUID> playerIdSet = new HashSet<>();
+            storage.forEachPlayer(playerIdSet::add);
+            assertEquals(new HashSet<>(Arrays.asList(first, second)), playerIdSet);
+        } finally {
+            storage.close();
+        }
+
+        LogPlayerDataStorage reopened = LogPlayerDataStorage.open(folder.toFile(), LOGGER);
+        try {
+            assertEquals("name: first-replaced", reopened.read(first));
+            assertEquals("name: second", reopened.read(second));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void secondOpenFails(@TempDir Path folder) throws IOException {
+        File storageFolder = folder.toFile();
+        LogPlayerDataStorage storage = LogPlayerDataStorage.open(storageFolder, LOGGER);
+        try {
+            assertThrows(IOException.class, () -> LogPlayerDataStorage.open(storageFolder, LOGGER));
+        } finally {
+            storage.close();
+        }
+
+        LogPlayerDataStorage reopened = LogPlayerDataStorage.open(storageFolder, LOGGER);
+        reopened.close();
+    }
+
+    @Test
+    void importDataIsKeptAfterFinish(@TempDir Path folder) throws IOException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        LogPlayerDataStorage storage = LogPlayerDataStorage.open(folder.toFile(), LOGGER);
+        try {
+            storage.importData(first, "name: first");
+            storage.importData(second, "name: second");
+            storage.finishImport();
+            storage.compact();
+            assertEquals("name: first", storage.read(first));
+        } finally {
+            storage.close();
+        }
+
+        LogPlayerDataStorage reopened = LogPlayerDataStorage.open(folder.toFile(), LOGGER);
+        try {
+            assertEquals("name: first", reopened.read(first));
+            assertEquals("name: second", reopened.read(second));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void recoverWithoutCheckpoint(@TempDir Path folder) throws IOException {
+        File storageFolder = folder.resolve("storage").toFile();
+        File crashFolder = folder.resolve("crash").toFile();
+        UUID playerId = UUID.randomUUID();
+
+        LogPlayerDataStorage storage = LogPlayerDataStorage.open(storageFolder, LOGGER);
+        try {
+            storage.write(playerId, "value: 1");
+            storage.write(playerId, "value: 2");
+            copyFolder(storageFolder, crashFolder);
+        } finally {
+            storage.close();
+        }
+
+        assertFalse(new File(crashFolder, "index.dat").exists());
+        LogPlayerDataStorage recovered = LogPlayerDataStorage.open(crashFolder, LOGGER);
+        try {
+            assertEquals("value: 2", recovered.read(playerId));
+        } finally {
+            recovered.close();
+        }
+    }
+
+    @Test
+    void recoverTruncatedTail(@TempDir Path folder) throws IOException {
+        File storageFolder = folder.resolve("storage").toFile();
+        File crashFolder = folder.resolve("crash").toFile();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        LogPlayerDataStorage storage = LogPlayerDataStorage.open(storageFolder, LOGGER);
+        try {
+            storage.write(first, "value: first-1");
+            storage.write(second, "value: second-1");
+            storage.write(first, "value: first-2");
+            copyFolder(storageFolder, crashFolder);
+        } finally {
+            storage.close();
+        }
+
+        File lastSegment = getLastSegment(crashFolder);
+        try (RandomAccessFile file = new RandomAccessFile(lastSegment, "rw")) {
+            file.setLength(file.length() - 3L);
+        }
+
+        LogPlayerDataStorage recovered = LogPlayerDataStorage.open(crashFolder, LOGGER);
+        try {
+            assertEquals("value: first-1", recovered.read(first));
+            assertEquals("value: second-1", recovered.read(second));
+            recovered.write(first, "value: first-3");
+        } finally {
+            recovered.close();
+        }
+
+        LogPlayerDataStorage reopened = LogPlayerDataStorage.open(crashFolder, LOGGER);
+        try {
+            assertEquals("value: first-3", reopened.read(first));
+            assertEquals("value: second-1", reopened.read(second));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void compactRemovesReplacedRecords(@TempDir Path folder) throws IOException {
+        File storageFolder = folder.toFile();
+        List<UUID> playerIdList = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            playerIdList.add(UUID.randomUUID());
+        }
+
+        String padding = repeat('x', 10 * 1024);
+        int rounds = 25;
+
+        LogPlayerDataStorage storage = LogPlayerDataStorage.open(storageFolder, LOGGER, 64L * 1024L);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                for (UUID playerId : playerIdList) {
+                    storage.write(playerId, createData(round, playerId, padding));
+                }
+            }
+
+            int segmentsBefore = getSegmentFiles(storageFolder).length;
+            storage.compact();
+            int segmentsAfter = getSegmentFiles(storageFolder).length;
+            assertTrue(segmentsAfter < segmentsBefore, "segments before: " + segmentsBefore
+                    + ", after: " + segmentsAfter);
+
+            for (UUID playerId : playerIdList) {
+                assertEquals(createData(rounds - 1, playerId, padding), storage.read(playerId));
+            }
+        } finally {
+            storage.close();
+        }
+
+        LogPlayerDataStorage reopened = LogPlayerDataStorage.open(storageFolder, LOGGER, 64L * 1024L);
+        try {
+            for (UUID playerId : playerIdList) {
+                assertEquals(createData(rounds - 1, playerId, padding), reopened.read(playerId));
+            }
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private static @NotNull String createData(int round, @NotNull UUID playerId, @NotNull String padding) {
+        return ("round: " + round + "\nid: " + playerId + "\npadding: " + padding);
+    }
+
+    private static @NotNull String repeat(char character, int count) {
+        char[] characters = new char[count];
+        Arrays.fill(characters, character);
+        return new String(characters);
+    }
+
+    private static void copyFolder(@NotNull File source, @NotNull File target) throws IOException {
+        Files.createDirectories(target.toPath());
+        File[] files = source.listFiles();
+        if (files == null) {
+            throw new IOException("Failed to list files in '" + source + "'.");
+        }
+
+        for (File file : files) {
+            Files.copy(file.toPath(), new File(target, file.getName()).toPath());
+        }
+    }
+
+    private static File @NotNull [] getSegmentFiles(@NotNull File folder) {
+        File[] files = folder.listFiles((parent, name) -> name.startsWith("segment-"));
+        return (files == null ? new File[0] : files);
+    }
+
+    private static @NotNull File getLastSegment(@NotNull File folder) {
+        File[] files = getSegmentFiles(folder);
+        Arrays.sort(files);
+        return files[files.length - 1];
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.sirblobman.api.configuration;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PlayerDataManagerTest {
+    private static final Logger LOGGER = Logger.getLogger("PlayerDataManagerTest");
+    private static final Set<UUID> ONLINE_SET = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void idleEvictionKeepsOnlinePlayers(@TempDir Path folder) throws InterruptedException {
+        UUID onlineId = UUID.randomUUID();
+        UUID offlineId = UUID.randomUUID();
+        setOnlinePlayers(onlineId);
+
+        PlayerDataManager manager = new PlayerDataManager(createPlugin(folder.toFile()));
+        try {
+            YamlConfiguration configuration = manager.get(createPlayer(onlineId));
+            configuration.set("unsaved", true);
+            manager.get(createPlayer(offlineId));
+
+            manager.setEvictionPolicy(1L, 0);
+            Thread.sleep(10L);
+            manager.evictIdle();
+
+            assertEquals(1, manager.getCachedPlayerCount());
+            assertTrue(manager.isCached(onlineId));
+            assertSame(configuration, manager.get(createPlayer(onlineId)));
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    void sizeEvictionKeepsOnlinePlayers(@TempDir Path folder) {
+        UUID onlineId = UUID.randomUUID();
+        setOnlinePlayers(onlineId);
+
+        PlayerDataManager manager = new PlayerDataManager(createPlugin(folder.toFile()));
+        try {
+            YamlConfiguration configuration = manager.get(createPlayer(onlineId));
+            manager.get(createPlayer(UUID.randomUUID()));
+            manager.get(createPlayer(UUID.randomUUID()));
+
+            manager.setEvictionPolicy(0L, 1);
+            manager.evictIdle();
+
+            assertEquals(1, manager.getCachedPlayerCount());
+            assertTrue(manager.isCached(onlineId));
+            assertSame(configuration, manager.get(createPlayer(onlineId)));
+        } finally {
+            manager.shutdown();
+        }
+    }
+
+    private static void setOnlinePlayers(UUID @NotNull ... playerIds) {
+        installServer();
+        ONLINE_SET.clear();
+        Collections.addAll(ONLINE_SET, playerIds);
+    }
+
+    private static synchronized void installServer() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+
+        PluginManager pluginManager = createProxy(PluginManager.class, (method, args) -> null);
+        Server server = createProxy(Server.class, (method, args) -> {
+            switch (method) {
+                case "getLogger":
+                    return LOGGER;
+                case "getName":
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "Test";
+                case "getPluginManager":
+                    return pluginManager;
+                case "isPrimaryThread":
+                    return true;
+                case "getOnlinePlayers":
+                    List<Player> playerList = new ArrayList<>();
+                    for (UUID playerId : ONLINE_SET) {
+                        playerList.add(createPlayer(playerId));
+                    }
+
+                    return playerList;
+                default:
+                    return null;
+            }
+        });
+
+        Bukkit.setServer(server);
+    }
+
+    private static @NotNull Plugin createPlugin(@NotNull File dataFolder) {
+        return createProxy(Plugin.class, (method, args) -> {
+            switch (method) {
+                case "getName":
+                    return "Test";
+                case "getLogger":
+                    return LOGGER;
+                case "getDataFolder":
+                    return dataFolder;
+                case "getConfig":
+                    return new YamlConfiguration();
+                case "isEnabled":
+                    return true;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private static @NotNull Player createPlayer(@NotNull UUID playerId) {
+        return createProxy(Player.class, (method, args) -> {
+            if (method.equals("getUniqueId")) {
+                return playerId;
+            }
+
+            return null;
+        });
+    }
+
+    /**
+     * Only the Bukkit methods used by {@link PlayerDataManager} are answered, other methods return {@code null}.
+     */
+    private static <T> @NotNull T createProxy(@NotNull Class<T> type, @NotNull ProxyHandler handler) {
+        ClassLoader classLoader = type.getClassLoader();
+        Class<?>[] interfaceArray = {type};
+        Object proxy = Proxy.newProxyInstance(classLoader, interfaceArray, (instance, method, args) -> {
+            String methodName = method.getName();
+            if (methodName.equals("hashCode")) {
+                return System.identityHashCode(instance);
+            }
+
+            if (methodName.equals("equals")) {
+                return (instance == args[0]);
+            }
+
+            Object value = handler.handle(methodName, args);
+            if (value == null && method.getReturnType() == boolean.class) {
+                return false;
+            }
+
+            return value;
+        });
+
+        return type.cast(proxy);
+    }
+
+    private interface ProxyHandler {
+        Object handle(@NotNull String methodName, Object[] args);
+    }
+}
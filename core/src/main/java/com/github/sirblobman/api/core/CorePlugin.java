@@ -1,6 +1,8 @@
 package com.github.sirblobman.api.core;
 
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Logger;
 
 import org.jetbrains.annotations.NotNull;
@@ -11,6 +13,7 @@ import org.bukkit.plugin.PluginDescriptionFile;
 
 import com.github.sirblobman.api.bossbar.BossBarHandler;
 import com.github.sirblobman.api.configuration.ConfigurationManager;
+import com.github.sirblobman.api.configuration.ConfigurationSnapshot;
 import com.github.sirblobman.api.core.command.CommandDebugEvent;
 import com.github.sirblobman.api.core.command.CommandGlobalGamerule;
 import com.github.sirblobman.api.core.command.CommandItemInfo;
@@ -37,15 +40,20 @@ import com.github.sirblobman.api.shaded.bstats.bukkit.Metrics;
 import com.github.sirblobman.api.shaded.bstats.charts.SimplePie;
 
 public final class CorePlugin extends ConfigurablePlugin {
-    private final CoreConfiguration coreConfiguration;
+    private final ConfigurationSnapshot<CoreConfiguration> coreConfiguration;
 
     private final SpigotUpdateManager spigotUpdateManager;
     private final HangarUpdateManager hangarUpdateManager;
 
     public CorePlugin() {
-        this.coreConfiguration = new CoreConfiguration();
+        ConfigurationManager configurationManager = getConfigurationManager();
+        this.coreConfiguration = configurationManager.bindConfigurable("config.yml", CoreConfiguration::new);
         this.spigotUpdateManager = new SpigotUpdateManager(this);
         this.hangarUpdateManager = new HangarUpdateManager(this);
+
+        BooleanSupplier updateCheckerEnabled = () -> getCoreConfiguration().isUpdateCheckerEnabled();
+        this.spigotUpdateManager.setEnabledSupplier(updateCheckerEnabled);
+        this.hangarUpdateManager.setEnabledSupplier(updateCheckerEnabled);
     }
 
     @Override
@@ -75,7 +83,7 @@ public final class CorePlugin extends ConfigurablePlugin {
     }
 
     @Override
-    public void onDisable() {
+    protected void onPluginDisable() {
         HandlerList.unregisterAll(this);
     }
 
@@ -86,12 +94,26 @@ public final class CorePlugin extends ConfigurablePlugin {
 
         LanguageManager languageManager = getLanguageManager();
         languageManager.reloadLanguages();
+    }
 
-        getCoreConfiguration().load(configurationManager.get("config.yml"));
+    /**
+     * Reload the configuration on the current thread and the language files on a background thread.
+     *
+     * @return A future that completes after the new language files are available.
+     */
+    public @NotNull CompletableFuture<Void> reloadConfigurationAsync() {
+        ConfigurationManager configurationManager = getConfigurationManager();
+        configurationManager.reload("config.yml");
+
+        LanguageManager languageManager = getLanguageManager();
+        return languageManager.reloadLanguagesAsync();
     }
 
+    /**
+     * @return The core configuration from the last time 'config.yml' was loaded.
+     */
     public @NotNull CoreConfiguration getCoreConfiguration() {
-        return this.coreConfiguration;
+        return this.coreConfiguration.get();
     }
 
     public @NotNull SpigotUpdateManager getSpigotUpdateManager() {
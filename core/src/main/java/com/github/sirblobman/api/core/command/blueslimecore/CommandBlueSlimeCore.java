@@ -15,7 +15,9 @@ public final class CommandBlueSlimeCore extends Command {
         super(plugin, "blueslimecore");
         setPermissionName("blue.slime.core.command.blueslimecore");
         addSubCommand(new SubCommandHelp(plugin));
+        addSubCommand(new SubCommandLanguageMetrics(plugin));
         addSubCommand(new SubCommandLanguageTest(plugin));
+        addSubCommand(new SubCommandMigratePlayerData(plugin));
         addSubCommand(new SubCommandReload(plugin));
         addSubCommand(new SubCommandVersion(plugin));
     }
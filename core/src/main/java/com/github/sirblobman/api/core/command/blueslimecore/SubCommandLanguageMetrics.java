@@ -0,0 +1,185 @@
+package com.github.sirblobman.api.core.command.blueslimecore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import com.github.sirblobman.api.command.Command;
+import com.github.sirblobman.api.core.CorePlugin;
+import com.github.sirblobman.api.language.LanguageManager;
+import com.github.sirblobman.api.language.metrics.CacheType;
+import com.github.sirblobman.api.language.metrics.LanguageMetrics;
+import com.github.sirblobman.api.language.metrics.LatencyHistogram;
+import com.github.sirblobman.api.plugin.ConfigurablePlugin;
+import com.github.sirblobman.api.shaded.adventure.text.Component;
+import com.github.sirblobman.api.shaded.adventure.text.TextComponent;
+import com.github.sirblobman.api.shaded.adventure.text.format.NamedTextColor;
+import com.github.sirblobman.api.shaded.adventure.text.format.TextDecoration;
+
+public final class SubCommandLanguageMetrics extends Command {
+    private final CorePlugin plugin;
+
+    public SubCommandLanguageMetrics(@NotNull CorePlugin plugin) {
+        super(plugin, "language-metrics");
+        setPermissionName("blue.slime.core.command.blueslimecore.language-metrics");
+        this.plugin = plugin;
+    }
+
+    @Override
+    protected @NotNull LanguageManager getLanguageManager() {
+        CorePlugin plugin = getCorePlugin();
+        return plugin.getLanguageManager();
+    }
+
+    @Override
+    protected @NotNull List<String> onTabComplete(@NotNull CommandSender sender, String @NotNull [] args) {
+        if (args.length == 1) {
+            Set<String> valueSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            for (ConfigurablePlugin plugin : getConfigurablePlugins()) {
+                valueSet.add(plugin.getName());
+            }
+
+            return getMatching(args[0], valueSet);
+        }
+
+        if (args.length == 2) {
+            return getMatching(args[1], "reset");
+        }
+
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected boolean execute(@NotNull CommandSender sender, String @NotNull [] args) {
+        String pluginName = (args.length > 0 ? args[0] : null);
+        boolean reset = (args.length > 1 && args[1].equalsIgnoreCase("reset"));
+
+        List<Component> messageList = new ArrayList<>();
+        for (ConfigurablePlugin plugin : getConfigurablePlugins()) {
+            if (pluginName != null && !plugin.getName().equalsIgnoreCase(pluginName)) {
+                continue;
+            }
+
+            LanguageManager languageManager = plugin.getLanguageManager();
+            if (reset) {
+                languageManager.resetMetrics();
+                messageList.add(withPrefix(plugin.getName(), "Language metrics were reset."));
+                continue;
+            }
+
+            messageList.add(Component.empty());
+            addPluginMetrics(messageList, plugin.getName(), languageManager);
+        }
+
+        if (messageList.isEmpty()) {
+            messageList.add(Component.text("There are no matching plugins.", NamedTextColor.RED));
+        }
+
+        LanguageManager languageManager = getLanguageManager();
+        for (Component message : messageList) {
+            languageManager.sendMessage(sender, message);
+        }
+
+        return true;
+    }
+
+    private @NotNull CorePlugin getCorePlugin() {
+        return this.plugin;
+    }
+
+    private @NotNull List<ConfigurablePlugin> getConfigurablePlugins() {
+        PluginManager pluginManager = Bukkit.getPluginManager();
+        Plugin[] pluginArray = pluginManager.getPlugins();
+
+        List<ConfigurablePlugin> pluginList = new ArrayList<>();
+        for (Plugin plugin : pluginArray) {
+            if (plugin instanceof ConfigurablePlugin && plugin.isEnabled()) {
+                pluginList.add((ConfigurablePlugin) plugin);
+            }
+        }
+
+        return pluginList;
+    }
+
+    private void addPluginMetrics(@NotNull List<Component> list, @NotNull String pluginName,
+                                  @NotNull LanguageManager languageManager) {
+        list.add(Component.text(pluginName + " Language Metrics:", NamedTextColor.WHITE, TextDecoration.BOLD));
+
+        LatencyHistogram sendLatency = languageManager.getSendLatency();
+        list.add(withPrefix("Send", formatHistogram(sendLatency)));
+
+        Map<String, LanguageMetrics> metricsMap = languageManager.getMetrics();
+        for (Map.Entry<String, LanguageMetrics> entry : metricsMap.entrySet()) {
+            String languageName = entry.getKey();
+            LanguageMetrics metrics = entry.getValue();
+
+            list.add(withPrefix("Language", languageName));
+            list.add(listElement("Parse: " + formatHistogram(metrics.getParseLatency())));
+            list.add(listElement("Render: " + formatHistogram(metrics.getRenderLatency())));
+
+            for (CacheType cacheType : CacheType.values()) {
+                long requestCount = metrics.getRequestCount(cacheType);
+                if (requestCount == 0L) {
+                    continue;
+                }
+
+                double hitRate = (metrics.getHitRate(cacheType) * 100.0D);
+                String cacheName = cacheType.name().toLowerCase(Locale.US).replace('_', '-');
+                String value = String.format(Locale.US, "%.1f%% hits of %,d requests", hitRate, requestCount);
+                list.add(listElement("Cache " + cacheName + ": " + value));
+            }
+        }
+    }
+
+    private @NotNull String formatHistogram(@NotNull LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        if (count == 0L) {
+            return "no calls";
+        }
+
+        String average = formatNanos(histogram.getAverageNanos());
+        String percentile = formatNanos(histogram.getPercentileNanos(99.0D));
+        String maximum = formatNanos(histogram.getMaxNanos());
+        return String.format(Locale.US, "%,d calls, avg %s, p99 %s, max %s", count, average, percentile, maximum);
+    }
+
+    private @NotNull String formatNanos(long nanos) {
+        double millis = (nanos / (double) TimeUnit.MILLISECONDS.toNanos(1L));
+        return String.format(Locale.US, "%.3fms", millis);
+    }
+
+    private @NotNull Component withPrefix(@NotNull String prefix, @Nullable String value) {
+        TextComponent.Builder builder = Component.text().color(NamedTextColor.WHITE);
+        builder.append(Component.text(prefix).decorate(TextDecoration.BOLD));
+        builder.append(Component.text(":").decorate(TextDecoration.BOLD));
+        builder.appendSpace();
+
+        if (value != null) {
+            builder.append(Component.text(value, NamedTextColor.GRAY));
+        } else {
+            builder.append(Component.text("N/A", NamedTextColor.GRAY));
+        }
+
+        return builder.build();
+    }
+
+    private @NotNull Component listElement(@NotNull String value) {
+        TextComponent.Builder builder = Component.text().color(NamedTextColor.GRAY);
+        builder.append(Component.text(" - ", NamedTextColor.WHITE, TextDecoration.BOLD));
+        builder.append(Component.text(value));
+        return builder.build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.sirblobman.api.core.command.blueslimecore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import com.github.sirblobman.api.command.Command;
+import com.github.sirblobman.api.configuration.LogPlayerDataStorage;
+import com.github.sirblobman.api.configuration.PlayerDataManager;
+import com.github.sirblobman.api.configuration.PlayerDataStorage;
+import com.github.sirblobman.api.core.CorePlugin;
+import com.github.sirblobman.api.language.replacer.IntegerReplacer;
+import com.github.sirblobman.api.language.replacer.Replacer;
+import com.github.sirblobman.api.language.replacer.StringReplacer;
+import com.github.sirblobman.api.plugin.ConfigurablePlugin;
+
+public final class SubCommandMigratePlayerData extends Command {
+    private final CorePlugin plugin;
+
+    public SubCommandMigratePlayerData(@NotNull CorePlugin plugin) {
+        super(plugin, "migrate-player-data");
+        setPermissionName("blue.slime.core.command.blueslimecore.migrate-player-data");
+        this.plugin = plugin;
+    }
+
+    @Override
+    protected @NotNull List<String> onTabComplete(@NotNull CommandSender sender, String @NotNull [] args) {
+        if (args.length == 1) {
+            Set<String> valueSet = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            PluginManager pluginManager = Bukkit.getPluginManager();
+            for (Plugin plugin : pluginManager.getPlugins()) {
+                if (plugin instanceof ConfigurablePlugin && plugin.isEnabled()) {
+                    valueSet.add(plugin.getName());
+                }
+            }
+
+            return getMatching(args[0], valueSet);
+        }
+
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected boolean execute(@NotNull CommandSender sender, String @NotNull [] args) {
+        if (args.length < 1) {
+            return false;
+        }
+
+        String pluginName = args[0];
+        Replacer pluginReplacer = new StringReplacer("{plugin}", pluginName);
+        ConfigurablePlugin plugin = findPlugin(pluginName);
+        if (plugin == null) {
+            sendMessage(sender, "command.blueslimecore.migrate-player-data.invalid-plugin", pluginReplacer);
+            return true;
+        }
+
+        PlayerDataManager playerDataManager = plugin.getPlayerDataManager();
+        PlayerDataStorage storage = playerDataManager.getStorage();
+        if (storage instanceof LogPlayerDataStorage) {
+            sendMessage(sender, "command.blueslimecore.migrate-player-data.already-migrated", pluginReplacer);
+            return true;
+        }
+
+        File folder = playerDataManager.getLogStorageFolder();
+        LogPlayerDataStorage target;
+        try {
+            target = LogPlayerDataStorage.open(folder, plugin.getLogger());
+        } catch (IOException ex) {
+            logError(ex);
+            sendMessage(sender, "command.blueslimecore.migrate-player-data.failure", pluginReplacer);
+            return true;
+        }
+
+        sendMessage(sender, "command.blueslimecore.migrate-player-data.started", pluginReplacer);
+        CompletableFuture<Integer> future = playerDataManager.migrate(target);
+        future.whenComplete((count, error) -> {
+            Throwable closeError = null;
+            try {
+                target.close();
+            } catch (IOException ex) {
+                closeError = ex;
+            }
+
+            Throwable failure = (error != null ? error : closeError);
+            if (failure != null) {
+                logError(failure);
+                sendMessage(sender, "command.blueslimecore.migrate-player-data.failure", pluginReplacer);
+                return;
+            }
+
+            Replacer countReplacer = new IntegerReplacer("{count}", count);
+            Replacer folderReplacer = new StringReplacer("{folder}", folder.getPath());
+            sendMessage(sender, "command.blueslimecore.migrate-player-data.success", pluginReplacer,
+                    countReplacer, folderReplacer);
+        });
+
+        return true;
+    }
+
+    private @NotNull CorePlugin getCorePlugin() {
+        return this.plugin;
+    }
+
+    private @Nullable ConfigurablePlugin findPlugin(@NotNull String pluginName) {
+        PluginManager pluginManager = Bukkit.getPluginManager();
+        Plugin plugin = pluginManager.getPlugin(pluginName);
+        if (plugin instanceof ConfigurablePlugin && plugin.isEnabled()) {
+            return (ConfigurablePlugin) plugin;
+        }
+
+        return null;
+    }
+
+    private void logError(@NotNull Throwable ex) {
+        CorePlugin plugin = getCorePlugin();
+        Logger logger = plugin.getLogger();
+        logger.log(Level.WARNING, "Failed to migrate player data:", ex);
+    }
+}
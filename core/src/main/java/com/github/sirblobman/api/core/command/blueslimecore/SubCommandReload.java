@@ -2,19 +2,27 @@ package com.github.sirblobman.api.core.command.blueslimecore;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.jetbrains.annotations.NotNull;
 
 import org.bukkit.command.CommandSender;
-import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.entity.Player;
 
 import com.github.sirblobman.api.command.Command;
 import com.github.sirblobman.api.core.CorePlugin;
+import com.github.sirblobman.api.folia.FoliaHelper;
+import com.github.sirblobman.api.folia.details.EntityTaskDetails;
+import com.github.sirblobman.api.folia.details.TaskDetails;
+import com.github.sirblobman.api.folia.scheduler.TaskScheduler;
 
 public final class SubCommandReload extends Command {
+    private final CorePlugin plugin;
+
     public SubCommandReload(@NotNull CorePlugin plugin) {
         super(plugin, "reload");
         setPermissionName("blue.slime.core.command.blueslimecore.reload");
+        this.plugin = plugin;
     }
 
     @Override
@@ -24,10 +32,52 @@ public final class SubCommandReload extends Command {
 
     @Override
     protected boolean execute(@NotNull CommandSender sender, String @NotNull [] args) {
-        JavaPlugin plugin = getPlugin();
-        plugin.reloadConfig();
+        CorePlugin plugin = getCorePlugin();
+        CompletableFuture<Void> future = plugin.reloadConfigurationAsync();
+        future.whenComplete((ignored, error) -> {
+            String key = (error == null ? "command.blueslimecore.reload-success"
+                    : "command.blueslimecore.reload-failure");
+            scheduleReply(sender, key);
+        });
 
-        sendMessage(sender, "command.blueslimecore.reload-success");
         return true;
     }
+
+    private @NotNull CorePlugin getCorePlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Send a message from the thread that owns the sender, because the reload completes on a background thread.
+     */
+    private void scheduleReply(@NotNull CommandSender sender, @NotNull String key) {
+        CorePlugin plugin = getCorePlugin();
+        FoliaHelper foliaHelper = plugin.getFoliaHelper();
+        TaskScheduler scheduler = foliaHelper.getScheduler();
+
+        if (sender instanceof Player) {
+            Player player = (Player) sender;
+            EntityTaskDetails<Player> task = new EntityTaskDetails<Player>(plugin, player) {
+                @Override
+                public void run() {
+                    Player entity = getEntity();
+                    if (entity != null) {
+                        sendMessage(entity, key);
+                    }
+                }
+            };
+
+            scheduler.scheduleEntityTask(task);
+            return;
+        }
+
+        TaskDetails task = new TaskDetails(plugin) {
+            @Override
+            public void run() {
+                sendMessage(sender, key);
+            }
+        };
+
+        scheduler.scheduleTask(task);
+    }
 }
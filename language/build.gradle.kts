@@ -15,4 +15,9 @@ dependencies {
 
     // PlaceholderAPI
     compileOnly("me.clip:placeholderapi:2.11.5")
+
+    // Test Dependencies
+    testImplementation(project(path = ":shaded", configuration = "shadow"))
+    testImplementation(project(":utility"))
+    testImplementation("org.spigotmc:spigot-api:1.12.2-R0.1-SNAPSHOT")
 }
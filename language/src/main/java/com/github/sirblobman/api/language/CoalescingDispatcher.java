@@ -0,0 +1,116 @@
+package com.github.sirblobman.api.language;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import com.github.sirblobman.api.folia.FoliaHelper;
+import com.github.sirblobman.api.folia.FoliaPlugin;
+import com.github.sirblobman.api.folia.details.EntityTaskDetails;
+import com.github.sirblobman.api.folia.scheduler.BukkitTaskScheduler;
+import com.github.sirblobman.api.folia.scheduler.TaskScheduler;
+import com.github.sirblobman.api.shaded.adventure.text.Component;
+import com.github.sirblobman.api.shaded.adventure.title.Title;
+
+/**
+ * Queues action bars and titles for each player and sends them once per tick on the player's scheduler.
+ * Only the latest action bar and the latest title are kept, and they are not rendered until they are sent.
+ */
+final class CoalescingDispatcher {
+    private final Plugin plugin;
+    private final LanguageManager languageManager;
+    private final TaskScheduler scheduler;
+    private final Map<UUID, PendingMessages> pendingMap;
+
+    CoalescingDispatcher(@NotNull Plugin plugin, @NotNull LanguageManager languageManager) {
+        this.plugin = plugin;
+        this.languageManager = languageManager;
+        this.pendingMap = new ConcurrentHashMap<>();
+
+        if (plugin instanceof FoliaPlugin) {
+            FoliaHelper foliaHelper = ((FoliaPlugin) plugin).getFoliaHelper();
+            this.scheduler = foliaHelper.getScheduler();
+        } else {
+            this.scheduler = new BukkitTaskScheduler(plugin);
+        }
+    }
+
+    void queueActionBar(@NotNull Player player, @NotNull Supplier<Component> messageSupplier) {
+        PendingMessages pending = getPending(player);
+        pending.actionBar.set(messageSupplier);
+        schedule(player, pending);
+    }
+
+    void queueTitle(@NotNull Player player, @NotNull Supplier<Title> titleSupplier) {
+        PendingMessages pending = getPending(player);
+        pending.title.set(titleSupplier);
+        schedule(player, pending);
+    }
+
+    void remove(@NotNull UUID playerId) {
+        this.pendingMap.remove(playerId);
+    }
+
+    private @NotNull PendingMessages getPending(@NotNull Player player) {
+        UUID playerId = player.getUniqueId();
+        return this.pendingMap.computeIfAbsent(playerId, key -> new PendingMessages());
+    }
+
+    private void schedule(@NotNull Player player, @NotNull PendingMessages pending) {
+        if (!pending.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        FlushTask task = new FlushTask(this.plugin, player, this.languageManager, pending);
+        task.setDelay(1L);
+        this.scheduler.scheduleEntityTask(task);
+    }
+
+    private static final class PendingMessages {
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicReference<Supplier<Component>> actionBar = new AtomicReference<>();
+        private final AtomicReference<Supplier<Title>> title = new AtomicReference<>();
+    }
+
+    private static final class FlushTask extends EntityTaskDetails<Player> {
+        private final LanguageManager languageManager;
+        private final PendingMessages pending;
+
+        private FlushTask(@NotNull Plugin plugin, @NotNull Player player, @NotNull LanguageManager languageManager,
+                          @NotNull PendingMessages pending) {
+            super(plugin, player);
+            this.languageManager = languageManager;
+            this.pending = pending;
+        }
+
+        @Override
+        public void run() {
+            this.pending.scheduled.set(false);
+            Supplier<Component> actionBar = this.pending.actionBar.getAndSet(null);
+            Supplier<Title> title = this.pending.title.getAndSet(null);
+
+            Player player = getEntity();
+            if (player == null || !player.isOnline()) {
+                return;
+            }
+
+            if (actionBar != null) {
+                Component message = actionBar.get();
+                this.languageManager.sendActionBarNow(player, message);
+            }
+
+            if (title != null) {
+                Title message = title.get();
+                this.languageManager.sendTitleNow(player, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.github.sirblobman.api.language;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.sirblobman.api.language.replacer.Replacer;
+
+/**
+ * Drops messages that were already sent to the same player within a suppression window.
+ * Windows are set for each message key, and keys without a window are never suppressed.
+ * Two messages are the same when they have the same key and the same replacements,
+ * so a duplicate is dropped before it is rendered.
+ */
+final class DuplicateMessageFilter {
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final MessageKeyRegistry keyRegistry;
+    private final Map<UUID, SendHistory> historyMap;
+    private final Map<String, Long> configuredWindowMap;
+    private final Map<String, Long> customWindowMap;
+    private volatile Map<String, Long> windowNanosMap;
+
+    DuplicateMessageFilter(@NotNull MessageKeyRegistry keyRegistry) {
+        this.keyRegistry = keyRegistry;
+        this.historyMap = new ConcurrentHashMap<>();
+        this.configuredWindowMap = new HashMap<>();
+        this.customWindowMap = new HashMap<>();
+        this.windowNanosMap = Collections.emptyMap();
+    }
+
+    /**
+     * @param windowMap The suppression windows from the configuration, in milliseconds, by message key.
+     */
+    synchronized void setConfiguredWindows(@NotNull Map<String, Long> windowMap) {
+        this.configuredWindowMap.clear();
+        this.configuredWindowMap.putAll(windowMap);
+        rebuildWindows();
+    }
+
+    /**
+     * @param key          The message key.
+     * @param windowMillis The suppression window in milliseconds, {@code 0} to remove the window.
+     */
+    synchronized void setWindow(@NotNull MessageKey key, long windowMillis) {
+        String path = key.getPath();
+        if (windowMillis <= 0L) {
+            this.customWindowMap.remove(path);
+        } else {
+            this.customWindowMap.put(path, windowMillis);
+        }
+
+        rebuildWindows();
+    }
+
+    synchronized @NotNull Map<String, Long> getWindows() {
+        Map<String, Long> windowMap = new HashMap<>(this.configuredWindowMap);
+        windowMap.putAll(this.customWindowMap);
+        return Collections.unmodifiableMap(windowMap);
+    }
+
+    /**
+     * Windows are kept by path, so configured paths that are never sent don't create message keys.
+     */
+    private void rebuildWindows() {
+        Map<String, Long> windowMap = getWindows();
+        Map<String, Long> windowNanosMap = new HashMap<>();
+        for (Map.Entry<String, Long> entry : windowMap.entrySet()) {
+            long windowMillis = entry.getValue();
+            if (windowMillis > 0L) {
+                windowNanosMap.put(entry.getKey(), TimeUnit.MILLISECONDS.toNanos(windowMillis));
+            }
+        }
+
+        this.windowNanosMap = Collections.unmodifiableMap(windowNanosMap);
+        this.historyMap.clear();
+    }
+
+    /**
+     * Check if a message should be sent, and remember it when it is.
+     *
+     * @param playerId      The player that receives the message.
+     * @param key           The message key.
+     * @param replacerArray The replacers for the message.
+     * @return {@code false} if the same message was sent to the player within the window of the key.
+     */
+    boolean shouldSend(@NotNull UUID playerId, @NotNull MessageKey key, Replacer @NotNull [] replacerArray) {
+        Map<String, Long> windowNanosMap = this.windowNanosMap;
+        if (windowNanosMap.isEmpty()) {
+            return true;
+        }
+
+        String path = key.getPath();
+        Long windowNanos = windowNanosMap.get(path);
+        if (windowNanos == null) {
+            return true;
+        }
+
+        int index = this.keyRegistry.getIndex(key);
+        long hash = hash(replacerArray);
+        long now = System.nanoTime();
+        SendHistory history = this.historyMap.computeIfAbsent(playerId, id -> new SendHistory());
+        return history.record(index, hash, now, windowNanos);
+    }
+
+    void remove(@NotNull UUID playerId) {
+        this.historyMap.remove(playerId);
+    }
+
+    /**
+     * A 64-bit FNV-1a hash of every replacer target and replacement.
+     * Each string is prefixed by its length, so moving characters between strings changes the hash.
+     */
+    static long hash(Replacer @NotNull [] replacerArray) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Replacer replacer : replacerArray) {
+            hash = hash(hash, replacer.getTarget());
+            hash = hash(hash, replacer.getReplacementString());
+        }
+
+        return hash;
+    }
+
+    private static long hash(long hash, @NotNull String value) {
+        int length = value.length();
+        hash = ((hash ^ length) * FNV_PRIME);
+        for (int i = 0; i < length; i++) {
+            hash = ((hash ^ value.charAt(i)) * FNV_PRIME);
+        }
+
+        return hash;
+    }
+
+    /**
+     * An open addressing map from message key index to the time and replacement hash of the last send.
+     */
+    private static final class SendHistory {
+        private int[] keyArray = new int[8];
+        private long[] hashArray = new long[8];
+        private long[] timeArray = new long[8];
+        private int size = 0;
+
+        private synchronized boolean record(int index, long hash, long now, long windowNanos) {
+            int slot = findSlot(this.keyArray, index);
+            if (this.keyArray[slot] != 0) {
+                if (this.hashArray[slot] == hash && (now - this.timeArray[slot]) < windowNanos) {
+                    return false;
+                }
+
+                this.hashArray[slot] = hash;
+                this.timeArray[slot] = now;
+                return true;
+            }
+
+            this.keyArray[slot] = (index + 1);
+            this.hashArray[slot] = hash;
+            this.timeArray[slot] = now;
+            this.size++;
+
+            if (this.size * 4 >= this.keyArray.length * 3) {
+                resize();
+            }
+
+            return true;
+        }
+
+        private void resize() {
+            int[] oldKeyArray = this.keyArray;
+            long[] oldHashArray = this.hashArray;
+            long[] oldTimeArray = this.timeArray;
+
+            int newLength = (oldKeyArray.length * 2);
+            this.keyArray = new int[newLength];
+            this.hashArray = new long[newLength];
+            this.timeArray = new long[newLength];
+
+            for (int i = 0; i < oldKeyArray.length; i++) {
+                int key = oldKeyArray[i];
+                if (key == 0) {
+                    continue;
+                }
+
+                int slot = findSlot(this.keyArray, key - 1);
+                this.keyArray[slot] = key;
+                this.hashArray[slot] = oldHashArray[i];
+                this.timeArray[slot] = oldTimeArray[i];
+            }
+        }
+
+        private static int findSlot(int @NotNull [] keyArray, int index) {
+            int mask = (keyArray.length - 1);
+            int slot = ((index * 0x9E3779B9) >>> 16) & mask;
+            while (keyArray[slot] != 0 && keyArray[slot] != (index + 1)) {
+                slot = ((slot + 1) & mask);
+            }
+
+            return slot;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.sirblobman.api.language;
 
+import java.text.DecimalFormat;
 import java.util.Locale;
 
 import org.jetbrains.annotations.NotNull;
@@ -8,17 +9,23 @@ public final class Language {
     private final String languageName;
     private final LanguageConfiguration configuration;
     private final Locale javaLocale;
+    private final NumberFormatter numberFormatter;
 
     public Language(@NotNull String languageName, @NotNull LanguageConfiguration configuration) {
         this.languageName = languageName;
         this.configuration = configuration;
 
-        Locale javaLocale = Locale.forLanguageTag(languageName);
-        if (javaLocale == null) {
+        String languageTag = languageName.replace('_', '-');
+        Locale javaLocale = Locale.forLanguageTag(languageTag);
+        if (javaLocale == null || javaLocale.getLanguage().isEmpty()) {
             this.javaLocale = Locale.US;
         } else {
             this.javaLocale = javaLocale;
         }
+
+        DecimalFormat decimalFormat = configuration.getDecimalFormat();
+        String pattern = decimalFormat.toPattern();
+        this.numberFormatter = new NumberFormatter(this.javaLocale, pattern);
     }
 
     public @NotNull String getLanguageName() {
@@ -32,4 +39,11 @@ public final class Language {
     public @NotNull Locale getJavaLocale() {
         return this.javaLocale;
     }
+
+    /**
+     * @return A thread-safe formatter that uses the decimal format of this language and its java locale.
+     */
+    public @NotNull NumberFormatter getNumberFormatter() {
+        return this.numberFormatter;
+    }
 }
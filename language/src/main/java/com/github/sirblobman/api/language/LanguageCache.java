@@ -0,0 +1,125 @@
+package com.github.sirblobman.api.language;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.sirblobman.api.configuration.AtomicFileWriter;
+
+/**
+ * A binary cache of flattened language tables, stored next to the language folder.
+ * Each entry is keyed by the SHA-256 hash of the language file and the plugin version,
+ * so a changed file or an updated plugin is parsed from YAML again.
+ */
+final class LanguageCache {
+    private static final int MAGIC = 0x42534C43;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HASH_LENGTH = 32;
+
+    private final File cacheFolder;
+    private final String version;
+    private final Logger logger;
+
+    LanguageCache(@NotNull File cacheFolder, @NotNull String version, @NotNull Logger logger) {
+        this.cacheFolder = cacheFolder;
+        this.version = version;
+        this.logger = logger;
+    }
+
+    /**
+     * @param languageName The name of the language.
+     * @param source       The contents of the language file.
+     * @return The cached table, or {@code null} if there is no valid cache entry for the file contents.
+     */
+    @Nullable LanguageTable read(@NotNull String languageName, byte @NotNull [] source) {
+        File cacheFile = getCacheFile(languageName);
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+
+        try {
+            Path cachePath = cacheFile.toPath();
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cachePath));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            int versionLength = buffer.getInt();
+            if (versionLength < 0 || versionLength > buffer.remaining()) {
+                return null;
+            }
+
+            byte[] versionBytes = new byte[versionLength];
+            buffer.get(versionBytes);
+            if (!this.version.equals(new String(versionBytes, StandardCharsets.UTF_8))) {
+                return null;
+            }
+
+            byte[] hash = new byte[HASH_LENGTH];
+            buffer.get(hash);
+            if (!Arrays.equals(hash, hash(source))) {
+                return null;
+            }
+
+            return LanguageTable.read(buffer);
+        } catch (IOException | RuntimeException ex) {
+            this.logger.log(Level.FINE, "Ignoring invalid language cache '" + cacheFile + "':", ex);
+            return null;
+        }
+    }
+
+    /**
+     * Store a table in the cache. Errors are logged and otherwise ignored.
+     *
+     * @param languageName The name of the language.
+     * @param source       The contents of the language file that the table was created from.
+     * @param table        The table to store.
+     */
+    void write(@NotNull String languageName, byte @NotNull [] source, @NotNull LanguageTable table) {
+        File cacheFile = getCacheFile(languageName);
+        try {
+            ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(byteStream);
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+
+            byte[] versionBytes = this.version.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(versionBytes.length);
+            output.write(versionBytes);
+            output.write(hash(source));
+            table.write(output);
+            output.flush();
+
+            byte[] data = byteStream.toByteArray();
+            AtomicFileWriter.write(cacheFile, data);
+        } catch (IOException ex) {
+            this.logger.log(Level.WARNING, "Failed to save language cache '" + cacheFile + "':", ex);
+        }
+    }
+
+    private @NotNull File getCacheFile(@NotNull String languageName) {
+        return new File(this.cacheFolder, languageName + ".bin");
+    }
+
+    private static byte @NotNull [] hash(byte @NotNull [] source) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return digest.digest(source);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IOException("SHA-256 is not available.", ex);
+        }
+    }
+}
@@ -4,23 +4,27 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.github.sirblobman.api.utility.ConfigurationHelper;
 import com.github.sirblobman.api.language.custom.ModifiableMessage;
 import com.github.sirblobman.api.language.custom.ModifiableMessageType;
 import com.github.sirblobman.api.language.custom.PlayerListInfo;
+import com.github.sirblobman.api.language.metrics.CacheType;
+import com.github.sirblobman.api.language.metrics.LanguageMetrics;
+import com.github.sirblobman.api.language.metrics.LatencyHistogram;
 import com.github.sirblobman.api.shaded.adventure.key.Key;
 import com.github.sirblobman.api.shaded.adventure.sound.Sound;
 import com.github.sirblobman.api.shaded.adventure.sound.Sound.Source;
@@ -33,124 +37,310 @@ import com.github.sirblobman.api.shaded.adventure.util.Ticks;
 import org.intellij.lang.annotations.Subst;
 
 public final class LanguageConfiguration {
-    private final YamlConfiguration configuration;
+    private static final int KEYED_CHUNK_BITS = 6;
+    private static final int KEYED_CHUNK_SIZE = (1 << KEYED_CHUNK_BITS);
+
+    private final LanguageTable ownTable;
     private final MiniMessage miniMessage;
-    private final Map<String, String> rawMessageMap;
-    private final Map<String, Component> messageMap;
-    private final Map<String, List<Component>> messageListMap;
+    private final Map<String, MessageTemplate> messageMap;
+    private final Map<String, List<MessageTemplate>> messageListMap;
     private final Map<String, ModifiableMessage> modifiableMessageMap;
     private final Map<String, Sound> soundMap;
     private final Map<String, Title> titleMap;
     private final Map<String, PlayerListInfo> playerListInfoMap;
+    private final Map<String, MessageTemplate> templateMap;
+    private final MessageKeyRegistry keyRegistry;
+    private final LanguageMetrics metrics;
+    private volatile LanguageTable table;
+    private volatile AtomicReferenceArray<AtomicReferenceArray<MessageTemplate>> keyedMessageChunks;
     private LanguageConfiguration parent;
     private DecimalFormat decimalFormat;
 
+    /**
+     * Create a language configuration from a YAML file.
+     * The configuration is flattened into a table and is not kept after this constructor returns.
+     *
+     * @param configuration The YAML configuration of the language file.
+     * @param miniMessage   The MiniMessage instance used to parse messages.
+     */
     public LanguageConfiguration(@NotNull YamlConfiguration configuration, @NotNull MiniMessage miniMessage) {
+        this(LanguageTable.flatten(configuration), miniMessage, new MessageKeyRegistry());
+    }
+
+    LanguageConfiguration(@NotNull LanguageTable ownTable, @NotNull MiniMessage miniMessage,
+                          @NotNull MessageKeyRegistry keyRegistry) {
         this.parent = null;
-        this.configuration = configuration;
+        this.keyRegistry = keyRegistry;
+        this.ownTable = ownTable;
+        this.table = this.ownTable;
         this.miniMessage = miniMessage;
 
-        this.rawMessageMap = new ConcurrentHashMap<>();
         this.messageMap = new ConcurrentHashMap<>();
         this.messageListMap = new ConcurrentHashMap<>();
         this.modifiableMessageMap = new ConcurrentHashMap<>();
         this.soundMap = new ConcurrentHashMap<>();
         this.titleMap = new ConcurrentHashMap<>();
         this.playerListInfoMap = new ConcurrentHashMap<>();
+        this.templateMap = new ConcurrentHashMap<>();
+        this.keyedMessageChunks = new AtomicReferenceArray<>(0);
+        this.metrics = new LanguageMetrics();
+    }
+
+    /**
+     * @return The cache and latency counters for this language.
+     */
+    public @NotNull LanguageMetrics getMetrics() {
+        return this.metrics;
     }
 
     public @NotNull Optional<LanguageConfiguration> getParent() {
         return Optional.ofNullable(this.parent);
     }
 
+    /**
+     * Set the parent of this configuration.
+     * Paths that are missing from this configuration are copied from the parent chain once, here,
+     * so the parent must be fully loaded before it is set.
+     *
+     * @param parent The new parent configuration, or {@code null} to remove the parent.
+     */
     public void setParent(@Nullable LanguageConfiguration parent) {
         this.parent = parent;
+        if (parent == null) {
+            this.table = this.ownTable;
+        } else {
+            this.table = LanguageTable.merge(parent.getTable(), this.ownTable);
+        }
+
+        this.messageMap.clear();
+        this.messageListMap.clear();
+        this.modifiableMessageMap.clear();
+        this.soundMap.clear();
+        this.titleMap.clear();
+        this.playerListInfoMap.clear();
+        this.templateMap.clear();
+        this.keyedMessageChunks = new AtomicReferenceArray<>(0);
     }
 
+    /**
+     * @return A new YAML configuration with the values of the original language file, including string lists.
+     * @deprecated Language files are not kept as YAML after they are loaded, and this method will be removed.
+     */
+    @Deprecated
     public @NotNull YamlConfiguration getOriginalConfiguration() {
-        return this.configuration;
+        LanguageTable ownTable = getOwnTable();
+        YamlConfiguration configuration = new YamlConfiguration();
+        Map<String, Object> valueMap = ownTable.getValues();
+        for (Map.Entry<String, Object> entry : valueMap.entrySet()) {
+            String path = entry.getKey();
+            if (ownTable.isList(path)) {
+                configuration.set(path, ownTable.getStringList(path));
+            } else {
+                configuration.set(path, entry.getValue());
+            }
+        }
+
+        return configuration;
     }
 
-    public @NotNull MiniMessage getMiniMessage() {
-        return this.miniMessage;
+    @NotNull LanguageTable getTable() {
+        return this.table;
     }
 
-    public @NotNull String getRawMessage(@NotNull String path) {
-        return this.rawMessageMap.computeIfAbsent(path, this::fetchRawMessage);
+    /**
+     * @return The table of this language file only, without values from the parent chain.
+     */
+    @NotNull LanguageTable getOwnTable() {
+        return this.ownTable;
     }
 
-    private @NotNull String fetchRawMessage(@NotNull String path) {
-        YamlConfiguration originalConfiguration = getOriginalConfiguration();
-        if (originalConfiguration.isList(path)) {
-            List<String> messageList = originalConfiguration.getStringList(path);
-            return String.join("\n", messageList);
-        }
+    public @NotNull MiniMessage getMiniMessage() {
+        return this.miniMessage;
+    }
 
-        String message = originalConfiguration.getString(path);
+    public @NotNull String getRawMessage(@NotNull String path) {
+        LanguageTable table = getTable();
+        String message = table.getString(path);
         if (message != null) {
             return message;
         }
 
-        Optional<LanguageConfiguration> optionalParent = getParent();
-        if (optionalParent.isPresent()) {
-            LanguageConfiguration parent = optionalParent.get();
-            return parent.getRawMessage(path);
-        }
-
         return String.format(Locale.US, "{%s}", path);
     }
 
     public @NotNull Component getMessage(@NotNull String path) {
+        MessageTemplate template = getMessageTemplate(path);
+        return template.getMessage();
+    }
+
+    /**
+     * @param path The path of the message.
+     * @return The compiled template of the same message as {@link #getMessage(String)}.
+     */
+    public @NotNull MessageTemplate getMessageTemplate(@NotNull String path) {
+        this.metrics.recordRequest(CacheType.MESSAGE);
         return this.messageMap.computeIfAbsent(path, this::fetchMessage);
     }
 
-    private @NotNull Component fetchMessage(@NotNull String path) {
+    /**
+     * Get a message by key. After the first call for a key, this is two array reads.
+     *
+     * @param key The key of the message.
+     * @return The same message as {@link #getMessage(String)} for the path of the key.
+     */
+    public @NotNull Component getMessage(@NotNull MessageKey key) {
+        MessageTemplate template = getMessageTemplate(key);
+        return template.getMessage();
+    }
+
+    /**
+     * @param key The key of the message.
+     * @return The compiled template of the same message as {@link #getMessage(MessageKey)}.
+     */
+    public @NotNull MessageTemplate getMessageTemplate(@NotNull MessageKey key) {
+        this.metrics.recordRequest(CacheType.KEYED_MESSAGE);
+        int index = this.keyRegistry.getIndex(key);
+        int chunkIndex = (index >>> KEYED_CHUNK_BITS);
+        AtomicReferenceArray<AtomicReferenceArray<MessageTemplate>> chunks = this.keyedMessageChunks;
+        if (chunkIndex < chunks.length()) {
+            AtomicReferenceArray<MessageTemplate> chunk = chunks.get(chunkIndex);
+            if (chunk != null) {
+                MessageTemplate template = chunk.get(index & (KEYED_CHUNK_SIZE - 1));
+                if (template != null) {
+                    return template;
+                }
+            }
+        }
+
+        this.metrics.recordMiss(CacheType.KEYED_MESSAGE);
+        String path = key.getPath();
+        MessageTemplate template = getMessageTemplate(path);
+        storeKeyedMessage(index, template);
+        return template;
+    }
+
+    /**
+     * Store a keyed message in its chunk. Only the small array of chunks is copied when it grows,
+     * the chunks that hold the messages are never copied.
+     */
+    private synchronized void storeKeyedMessage(int index, @NotNull MessageTemplate template) {
+        int chunkIndex = (index >>> KEYED_CHUNK_BITS);
+        AtomicReferenceArray<AtomicReferenceArray<MessageTemplate>> chunks = this.keyedMessageChunks;
+        if (chunkIndex >= chunks.length()) {
+            int newLength = Math.max(chunkIndex + 1, chunks.length() * 2);
+            AtomicReferenceArray<AtomicReferenceArray<MessageTemplate>> newChunks =
+                    new AtomicReferenceArray<>(newLength);
+            for (int i = 0; i < chunks.length(); i++) {
+                newChunks.set(i, chunks.get(i));
+            }
+
+            chunks = newChunks;
+            this.keyedMessageChunks = newChunks;
+        }
+
+        AtomicReferenceArray<MessageTemplate> chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new AtomicReferenceArray<>(KEYED_CHUNK_SIZE);
+            chunks.set(chunkIndex, chunk);
+        }
+
+        chunk.set(index & (KEYED_CHUNK_SIZE - 1), template);
+    }
+
+    private @NotNull MessageTemplate fetchMessage(@NotNull String path) {
+        this.metrics.recordMiss(CacheType.MESSAGE);
         String rawMessage = getRawMessage(path);
+        return getRawTemplate(rawMessage);
+    }
+
+    /**
+     * Messages with the same text share one component and one template.
+     *
+     * @param rawMessage The MiniMessage text of a message.
+     * @return The compiled template for the text.
+     */
+    private @NotNull MessageTemplate getRawTemplate(@NotNull String rawMessage) {
+        this.metrics.recordRequest(CacheType.TEMPLATE);
+        return this.templateMap.computeIfAbsent(rawMessage, this::compileRawTemplate);
+    }
+
+    private @NotNull MessageTemplate compileRawTemplate(@NotNull String rawMessage) {
+        this.metrics.recordMiss(CacheType.TEMPLATE);
+        Component message = deserialize(rawMessage);
+        SerializedComponentCache.register(message);
+        return MessageTemplate.compile(message);
+    }
+
+    private @NotNull Component deserialize(@NotNull String rawMessage) {
+        long startNanos = System.nanoTime();
         MiniMessage miniMessage = getMiniMessage();
-        return miniMessage.deserialize(rawMessage);
+        Component message = miniMessage.deserialize(rawMessage);
+
+        LatencyHistogram parseLatency = this.metrics.getParseLatency();
+        parseLatency.record(System.nanoTime() - startNanos);
+        return message;
     }
 
     public @NotNull List<Component> getMessageList(@NotNull String path) {
+        List<MessageTemplate> templateList = getMessageTemplateList(path);
+        List<Component> messages = new ArrayList<>(templateList.size());
+        for (MessageTemplate template : templateList) {
+            messages.add(template.getMessage());
+        }
+
+        return messages;
+    }
+
+    /**
+     * @param path The path of the message list.
+     * @return An unmodifiable list with the compiled template of each line of {@link #getMessageList(String)}.
+     */
+    public @NotNull List<MessageTemplate> getMessageTemplateList(@NotNull String path) {
+        this.metrics.recordRequest(CacheType.MESSAGE_LIST);
         return this.messageListMap.computeIfAbsent(path, this::fetchMessageList);
     }
 
-    private @NotNull List<Component> fetchMessageList(@NotNull String path) {
+    private @NotNull List<MessageTemplate> fetchMessageList(@NotNull String path) {
+        this.metrics.recordMiss(CacheType.MESSAGE_LIST);
         String baseMessage = getRawMessage(path);
         String[] rawMessages = baseMessage.split(Pattern.quote("\n"));
-        List<Component> messages = new ArrayList<>();
+        List<MessageTemplate> templates = new ArrayList<>(rawMessages.length);
 
-        MiniMessage miniMessage = getMiniMessage();
         for (String rawMessage : rawMessages) {
-            Component component = miniMessage.deserialize(rawMessage);
-            messages.add(component);
+            templates.add(getRawTemplate(rawMessage));
         }
 
-        return messages;
+        return Collections.unmodifiableList(templates);
+    }
+
+    /**
+     * @param path The path of a modifiable message.
+     * @return The path of the text of the modifiable message, for {@link #getMessageTemplate(String)}.
+     */
+    @NotNull String getModifiableMessagePath(@NotNull String path) {
+        LanguageTable table = getTable();
+        return (table.isSection(path) ? (path + ".content") : path);
     }
 
     public @NotNull ModifiableMessage getModifiableMessage(@NotNull String path) {
+        this.metrics.recordRequest(CacheType.MODIFIABLE_MESSAGE);
         return this.modifiableMessageMap.computeIfAbsent(path, this::fetchModifiableMessage);
     }
 
     private @NotNull ModifiableMessage fetchModifiableMessage(@NotNull String path) {
-        YamlConfiguration originalConfiguration = getOriginalConfiguration();
-        if (originalConfiguration.isConfigurationSection(path)) {
+        this.metrics.recordMiss(CacheType.MODIFIABLE_MESSAGE);
+        LanguageTable table = getTable();
+        if (table.isSection(path)) {
             Component message = getMessage(path + ".content");
             ModifiableMessage modifiableMessage = new ModifiableMessage();
             modifiableMessage.setMessage(message);
 
-            String messageTypeName = originalConfiguration.getString(path + ".type");
+            String messageTypeName = table.getString(path + ".type");
             ModifiableMessageType messageType = ConfigurationHelper.parseEnum(ModifiableMessageType.class,
                     messageTypeName, ModifiableMessageType.CHAT);
             modifiableMessage.setType(messageType);
             return modifiableMessage;
         } else {
-            Optional<LanguageConfiguration> optionalParent = getParent();
-            if (optionalParent.isPresent()) {
-                LanguageConfiguration parent = optionalParent.get();
-                return parent.getModifiableMessage(path);
-            }
-
             Component message = getMessage(path);
             ModifiableMessage modifiableMessage = new ModifiableMessage();
             modifiableMessage.setMessage(message);
@@ -159,40 +349,29 @@ public final class LanguageConfiguration {
     }
 
     public @Nullable Sound getSound(@NotNull String path) {
+        this.metrics.recordRequest(CacheType.SOUND);
         return this.soundMap.computeIfAbsent(path, this::fetchSound);
     }
 
     private @Nullable Sound fetchSound(@NotNull String path) {
-        YamlConfiguration originalConfiguration = getOriginalConfiguration();
-        ConfigurationSection section = originalConfiguration.getConfigurationSection(path);
-        if (section == null) {
-            Optional<LanguageConfiguration> optionalParent = getParent();
-            if (optionalParent.isPresent()) {
-                LanguageConfiguration parent = optionalParent.get();
-                return parent.getSound(path);
-            }
-
+        this.metrics.recordMiss(CacheType.SOUND);
+        LanguageTable table = getTable();
+        if (!table.isSection(path)) {
             return null;
         }
 
         @Subst("ignore")
-        String soundKeyString = section.getString("sound");
+        String soundKeyString = table.getString(path + ".sound");
         if (soundKeyString == null || soundKeyString.isEmpty()) {
-            Optional<LanguageConfiguration> optionalParent = getParent();
-            if (optionalParent.isPresent()) {
-                LanguageConfiguration parent = optionalParent.get();
-                return parent.getSound(path);
-            }
-
             return null;
         }
 
-        String categoryName = section.getString("category", "master");
+        String categoryName = table.getString(path + ".category", "master");
         Source category = Source.valueOf(categoryName.toUpperCase(Locale.US));
 
         Key soundKey = Key.key(soundKeyString);
-        float volume = (float) section.getDouble("volume", 1.0D);
-        float pitch = (float) section.getDouble("pitch", 1.0D);
+        float volume = (float) table.getDouble(path + ".volume", 1.0D);
+        float pitch = (float) table.getDouble(path + ".pitch", 1.0D);
 
         Sound.Builder builder = Sound.sound();
         builder.type(soundKey);
@@ -203,25 +382,20 @@ public final class LanguageConfiguration {
     }
 
     public @NotNull Title getTitle(@NotNull String path) {
+        this.metrics.recordRequest(CacheType.TITLE);
         return this.titleMap.computeIfAbsent(path, this::fetchTitle);
     }
 
     private @NotNull Title fetchTitle(@NotNull String path) {
-        YamlConfiguration originalConfiguration = getOriginalConfiguration();
-        ConfigurationSection section = originalConfiguration.getConfigurationSection(path);
-        if (section == null) {
-            Optional<LanguageConfiguration> optionalParent = getParent();
-            if (optionalParent.isPresent()) {
-                LanguageConfiguration parent = optionalParent.get();
-                return parent.getTitle(path);
-            }
-
+        this.metrics.recordMiss(CacheType.TITLE);
+        LanguageTable table = getTable();
+        if (!table.isSection(path)) {
             return Title.title(Component.empty(), Component.empty());
         }
 
-        int fadeInTicks = section.getInt("fade-in", 10);
-        int stayTicks = section.getInt("stay", 70);
-        int fadeOutTicks = section.getInt("fade-out", 20);
+        int fadeInTicks = table.getInt(path + ".fade-in", 10);
+        int stayTicks = table.getInt(path + ".stay", 70);
+        int fadeOutTicks = table.getInt(path + ".fade-out", 20);
         Times times = Times.times(ticks(fadeInTicks), ticks(stayTicks), ticks(fadeOutTicks));
 
         Component titleMessage = getMessage(path + ".title");
@@ -234,19 +408,14 @@ public final class LanguageConfiguration {
     }
 
     public @NotNull PlayerListInfo getPlayerListInfo(@NotNull String path) {
+        this.metrics.recordRequest(CacheType.PLAYER_LIST_INFO);
         return this.playerListInfoMap.computeIfAbsent(path, this::fetchPlayerListInfo);
     }
 
     private @NotNull PlayerListInfo fetchPlayerListInfo(@NotNull String path) {
-        YamlConfiguration originalConfiguration = getOriginalConfiguration();
-        ConfigurationSection section = originalConfiguration.getConfigurationSection(path);
-        if (section == null) {
-            Optional<LanguageConfiguration> optionalParent = getParent();
-            if (optionalParent.isPresent()) {
-                LanguageConfiguration parent = optionalParent.get();
-                return parent.getPlayerListInfo(path);
-            }
-
+        this.metrics.recordMiss(CacheType.PLAYER_LIST_INFO);
+        LanguageTable table = getTable();
+        if (!table.isSection(path)) {
             return new PlayerListInfo();
         }
 
@@ -258,6 +427,83 @@ public final class LanguageConfiguration {
         return playerListHeader;
     }
 
+    /**
+     * Get the compiled template for any component.
+     * Templates are cached by the MiniMessage text of the component, so this serializes the component first.
+     * Use {@link #getMessageTemplate(String)} for messages of this configuration, which is only a lookup.
+     *
+     * @param message The component.
+     * @return The template for the component.
+     */
+    public @NotNull MessageTemplate getTemplate(@NotNull Component message) {
+        MiniMessage miniMessage = getMiniMessage();
+        String rawMessage = miniMessage.serialize(message);
+        this.metrics.recordRequest(CacheType.TEMPLATE);
+        return this.templateMap.computeIfAbsent(rawMessage, ignored -> {
+            this.metrics.recordMiss(CacheType.TEMPLATE);
+            return MessageTemplate.compile(message);
+        });
+    }
+
+    /**
+     * Parse and compile every message, message list, modifiable message, title, sound,
+     * and player list entry in this configuration, so later calls only read from the caches.
+     *
+     * @return The amount of paths that were loaded.
+     */
+    public int prewarm() {
+        LanguageTable table = getTable();
+        int count = 0;
+
+        for (String path : table.getPaths()) {
+            if (path.equals("language-name") || path.equals("parent") || path.equals("decimal-format")) {
+                continue;
+            }
+
+            if (table.isString(path)) {
+                getMessageTemplate(path);
+                if (getRawMessage(path).indexOf('\n') >= 0) {
+                    getMessageTemplateList(path);
+                }
+
+                count++;
+                continue;
+            }
+
+            if (!table.isSection(path)) {
+                continue;
+            }
+
+            if (table.isString(path + ".content")) {
+                getModifiableMessage(path);
+                count++;
+            }
+
+            if (table.isString(path + ".title") || table.isString(path + ".subtitle")) {
+                getTitle(path);
+                count++;
+            }
+
+            if (table.isString(path + ".header") || table.isString(path + ".footer")) {
+                getPlayerListInfo(path);
+                count++;
+            }
+
+            if (table.isString(path + ".sound")) {
+                getSound(path);
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * The returned format is shared and is not thread-safe.
+     * Use {@link Language#getNumberFormatter()} to format numbers from other threads.
+     *
+     * @return The decimal format of this language or its parent.
+     */
     public @NotNull DecimalFormat getDecimalFormat() {
         if (this.decimalFormat != null) {
             return this.decimalFormat;
@@ -7,6 +7,13 @@ import org.jetbrains.annotations.NotNull;
 
 import org.bukkit.configuration.ConfigurationSection;
 
+/**
+ * Orders language sections so a parent comes before its direct children.
+ * @deprecated This comparator only compares direct parents, so it is not a consistent order for languages with
+ * grandparents. {@link LanguageManager} now sorts languages by walking the parent chain and no longer uses it.
+ * This class will be removed.
+ */
+@Deprecated
 public final class LanguageConfigurationComparator implements Comparator<ConfigurationSection> {
     @Override
     public int compare(@NotNull ConfigurationSection section1, @NotNull ConfigurationSection section2) {
@@ -3,19 +3,37 @@ package com.github.sirblobman.api.language;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -24,20 +42,25 @@ import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.PluginManager;
 import net.md_5.bungee.api.chat.BaseComponent;
 
 import com.github.sirblobman.api.configuration.ConfigurationManager;
+import com.github.sirblobman.api.configuration.FileWatcher;
 import com.github.sirblobman.api.configuration.IResourceHolder;
 import com.github.sirblobman.api.configuration.WrapperPluginResourceHolder;
 import com.github.sirblobman.api.language.custom.ModifiableMessage;
 import com.github.sirblobman.api.language.custom.ModifiableMessageType;
 import com.github.sirblobman.api.language.custom.PlayerListInfo;
 import com.github.sirblobman.api.language.listener.LanguageListener;
+import com.github.sirblobman.api.language.metrics.LanguageMetrics;
+import com.github.sirblobman.api.language.metrics.LatencyHistogram;
 import com.github.sirblobman.api.language.replacer.Replacer;
 import com.github.sirblobman.api.utility.Validate;
 import com.github.sirblobman.api.utility.VersionUtility;
@@ -58,6 +81,7 @@ import me.clip.placeholderapi.PlaceholderAPI;
 
 public final class LanguageManager {
     private static final String[] KNOWN_LANGUAGE_ARRAY;
+    private static final int MAX_LOADER_THREADS;
 
     static {
         // Last Updated: June 28, 2022 18:03
@@ -75,37 +99,66 @@ public final class LanguageManager {
                 "sv_se", "swg", "sxu", "szl", "ta_in", "th_th", "tl_ph", "tlh_aa", "tr_tr", "tt_ru", "tzl_tzl",
                 "uk_ua", "val_es", "vec_it", "vi_vn", "yi_de", "yo_ng", "zh_cn", "zh_hk", "zh_tw"
         };
+
+        MAX_LOADER_THREADS = 4;
     }
 
     private final IResourceHolder plugin;
     private final ConfigurationManager configurationManager;
 
     private final Map<UUID, String> localeMap;
-    private final Map<String, Language> languageMap;
     private final MiniMessage miniMessage;
-
-    private String defaultLanguageName;
-    private String consoleLanguageName;
-    private boolean forceDefaultLanguage;
-    private boolean usePlaceholderAPI;
-    private boolean debugLanguage;
-
-    private AudienceProvider audienceProvider;
-    private Language defaultLanguage;
-    private Language consoleLanguage;
-
+    private final MessageKeyRegistry keyRegistry;
+    private final MessageKey prefixKey;
+    private final PlaceholderCache<String> placeholderStringCache;
+    private final PlaceholderCache<Component> placeholderComponentCache;
+    private final DuplicateMessageFilter duplicateFilter;
+    private final LatencyHistogram sendLatency;
+    private volatile ExecutorService loaderExecutor;
+    private final Set<String> loadingLanguageSet;
+
+    private volatile String defaultLanguageName;
+    private volatile String consoleLanguageName;
+    private volatile boolean forceDefaultLanguage;
+    private volatile boolean usePlaceholderAPI;
+    private volatile boolean debugLanguage;
+    private volatile boolean lazyLoadLanguages;
+    private volatile int maxLoadedLanguages;
+    private volatile boolean prewarmLanguages;
+    private volatile boolean coalesceMessages;
+    private volatile boolean watchFiles;
+    private volatile boolean watchConfigurationFiles;
+    private volatile LanguageCache languageCache;
+
+    private volatile AudienceProvider audienceProvider;
+    private volatile CoalescingDispatcher dispatcher;
+    private FileWatcher languageWatcher;
+    private boolean watchingConfiguration;
+    private final Object snapshotLock;
+    private volatile LanguageSnapshot snapshot;
 
     public LanguageManager(@NotNull ConfigurationManager configurationManager) {
         this.configurationManager = configurationManager;
         this.plugin = configurationManager.getResourceHolder();
 
-        this.localeMap = new HashMap<>();
-        this.languageMap = new HashMap<>();
+        this.localeMap = new ConcurrentHashMap<>();
+        this.snapshotLock = new Object();
+        this.snapshot = LanguageSnapshot.EMPTY;
+        this.placeholderStringCache = new PlaceholderCache<>();
+        this.placeholderComponentCache = new PlaceholderCache<>();
+        this.keyRegistry = new MessageKeyRegistry();
+        this.prefixKey = this.keyRegistry.get("prefix");
+        this.duplicateFilter = new DuplicateMessageFilter(this.keyRegistry);
+        this.sendLatency = new LatencyHistogram();
+        this.loaderExecutor = Executors.newSingleThreadExecutor(this::createLoaderThread);
+        this.loadingLanguageSet = ConcurrentHashMap.newKeySet();
 
         MiniMessage.Builder builder = MiniMessage.builder();
         builder.strict(false);
         builder.debug(this::printMiniMessageDebug);
         this.miniMessage = builder.build();
+
+        configurationManager.addReloadListener(this::onConfigurationReloaded);
     }
 
     public @NotNull IResourceHolder getPlugin() {
@@ -125,80 +178,98 @@ public final class LanguageManager {
         return this.configurationManager;
     }
 
+    /**
+     * Get the key for a message path of this language manager.
+     * Keys should be resolved once and stored, for example in a field of the plugin.
+     *
+     * @param path The message path, such as {@code "error.no-permission"}.
+     * @return The key for the path.
+     */
+    public @NotNull MessageKey getMessageKey(@NotNull String path) {
+        return this.keyRegistry.get(path);
+    }
+
     public @NotNull String getCachedLocale(@NotNull OfflinePlayer player) {
         UUID playerId = player.getUniqueId();
         return this.localeMap.get(playerId);
     }
 
     public void setLocale(@NotNull Player player, @NotNull String locale) {
-        printDebug("Detected setLocale for player '" + player.getName() + "' and locale '" + locale + "'.");
+        printDebug(() -> "Detected setLocale for player '" + player.getName() + "' and locale '" + locale + "'.");
         UUID playerId = player.getUniqueId();
         this.localeMap.put(playerId, locale);
+
+        LanguageSnapshot snapshot = getSnapshot();
+        if (snapshot.isLazy() && snapshot.isAvailable(locale) && snapshot.getLanguage(locale) == null) {
+            loadLanguageAsync(locale);
+        }
     }
 
     public void removeLocale(@NotNull Player player) {
-        printDebug("Detected removeLocale for player '" + player.getName() + "'.");
+        printDebug(() -> "Detected removeLocale for player '" + player.getName() + "'.");
         UUID playerId = player.getUniqueId();
         this.localeMap.remove(playerId);
-    }
+        this.placeholderStringCache.invalidate(playerId);
+        this.placeholderComponentCache.invalidate(playerId);
+        this.duplicateFilter.remove(playerId);
 
-    public @Nullable Language getDefaultLanguage() {
-        if (this.defaultLanguage != null) {
-            return this.defaultLanguage;
-        }
-
-        if (this.defaultLanguageName == null) {
-            Logger logger = getLogger();
-            logger.warning("The default language name is not properly defined.");
-            return null;
+        CoalescingDispatcher dispatcher = this.dispatcher;
+        if (dispatcher != null) {
+            dispatcher.remove(playerId);
         }
+    }
 
-        this.defaultLanguage = this.languageMap.get(this.defaultLanguageName);
-        return this.defaultLanguage;
+    public @Nullable Language getDefaultLanguage() {
+        LanguageSnapshot snapshot = getSnapshot();
+        return snapshot.getDefaultLanguage();
     }
 
     public @Nullable Language getConsoleLanguage() {
+        LanguageSnapshot snapshot = getSnapshot();
         if (this.forceDefaultLanguage) {
-            return getDefaultLanguage();
+            return snapshot.getDefaultLanguage();
         }
 
-        if (this.consoleLanguage != null) {
-            return this.consoleLanguage;
-        }
-
-        Logger logger = getLogger();
-        if (this.consoleLanguageName == null) {
-            logger.warning("The console language name is not properly defined, using default.");
-            return getDefaultLanguage();
-        }
-
-        this.consoleLanguage = getLanguage(this.consoleLanguageName);
-        if (this.consoleLanguage == null) {
-            logger.warning("The console language name '" + this.consoleLanguageName
-                    + "' is not valid, using default.");
-            return getDefaultLanguage();
-        }
-
-        return this.consoleLanguage;
+        return snapshot.getConsoleLanguage();
     }
 
     public @Nullable Language getLanguage(@Nullable String name) {
-        printDebug("Detected getLanguage for name '" + name + "'...");
+        printDebug(() -> "Detected getLanguage for name '" + name + "'...");
 
-        Language defaultLanguage = getDefaultLanguage();
+        LanguageSnapshot snapshot = getSnapshot();
+        Language defaultLanguage = snapshot.getDefaultLanguage();
         if (name == null || name.isEmpty() || name.equals("default")) {
             printDebug("Name is not valid, using default language.");
             return defaultLanguage;
         }
 
         printDebug("Getting name from language map.");
-        return this.languageMap.getOrDefault(name, defaultLanguage);
+        Language language = snapshot.getLanguage(name);
+        if (language == null && snapshot.isLazy() && snapshot.isAvailable(name)) {
+            printDebug("Language is not loaded yet, using default language until it is loaded.");
+            loadLanguageAsync(name);
+        }
+
+        return (language != null ? language : defaultLanguage);
+    }
+
+    /**
+     * @return An unmodifiable map of every loaded language, keyed by language name.
+     * When lazy loading is enabled, languages that were not used yet are not included.
+     */
+    public @NotNull Map<String, Language> getLanguages() {
+        LanguageSnapshot snapshot = getSnapshot();
+        return snapshot.getLanguageMap();
+    }
+
+    private @NotNull LanguageSnapshot getSnapshot() {
+        return this.snapshot;
     }
 
     private @Nullable Language getPlayerLanguage(@NotNull Player player) {
-        printDebug("Detected getPlayerLanguage for player '" + player.getName() + "'.");
+        printDebug(() -> "Detected getPlayerLanguage for player '" + player.getName() + "'.");
         String cachedLocale = getCachedLocale(player);
-        printDebug("Cached Locale Name: " + cachedLocale);
+        printDebug(() -> "Cached Locale Name: " + cachedLocale);
         return getLanguage(cachedLocale);
     }
 
@@ -221,6 +292,7 @@ public final class LanguageManager {
 
     public void onPluginEnable() {
         printDebug("Detected onPluginEnable...");
+        restartLoaderExecutor();
 
         IResourceHolder resourceHolder = getPlugin();
         if (resourceHolder instanceof WrapperPluginResourceHolder) {
@@ -236,6 +308,45 @@ public final class LanguageManager {
 
             this.audienceProvider = BukkitAudiences.create(plugin);
             printDebug("Successfully created BukkitAudiences instance.");
+
+            this.dispatcher = new CoalescingDispatcher(plugin, this);
+        }
+    }
+
+    /**
+     * Stop watching files for changes and stop loading languages in the background.
+     * This is called by {@code ConfigurablePlugin} when the plugin is disabled.
+     * The background loader is started again by {@link #onPluginEnable()}.
+     */
+    public void onPluginDisable() {
+        printDebug("Detected onPluginDisable...");
+        stopFileWatcher();
+        this.loaderExecutor.shutdown();
+    }
+
+    private synchronized void restartLoaderExecutor() {
+        if (this.loaderExecutor.isShutdown()) {
+            this.loaderExecutor = Executors.newSingleThreadExecutor(this::createLoaderThread);
+        }
+    }
+
+    private synchronized void stopFileWatcher() {
+        stopLanguageWatcher();
+        stopConfigurationWatcher();
+    }
+
+    private synchronized void stopLanguageWatcher() {
+        if (this.languageWatcher != null) {
+            this.languageWatcher.close();
+            this.languageWatcher = null;
+        }
+    }
+
+    private synchronized void stopConfigurationWatcher() {
+        if (this.watchingConfiguration) {
+            ConfigurationManager configurationManager = getConfigurationManager();
+            configurationManager.stopWatching();
+            this.watchingConfiguration = false;
         }
     }
 
@@ -260,8 +371,7 @@ public final class LanguageManager {
 
         for (String languageName : KNOWN_LANGUAGE_ARRAY) {
             String languageFileName = String.format(Locale.US, "language/%s.lang.yml", languageName);
-            YamlConfiguration jarConfiguration = configurationManager.getInternal(languageFileName);
-            if (jarConfiguration == null) {
+            if (!configurationManager.hasInternal(languageFileName)) {
                 continue;
             }
 
@@ -269,6 +379,10 @@ public final class LanguageManager {
         }
     }
 
+    public boolean isDebugMode() {
+        return this.debugLanguage;
+    }
+
     public void printDebug(@NotNull String message) {
         if (!this.debugLanguage) {
             return;
@@ -278,83 +392,775 @@ public final class LanguageManager {
         logger.info("[Debug] [Language] " + message);
     }
 
+    /**
+     * Print a debug message that is only created when debug mode is enabled.
+     *
+     * @param messageSupplier The supplier for the message.
+     */
+    public void printDebug(@NotNull Supplier<String> messageSupplier) {
+        if (!this.debugLanguage) {
+            return;
+        }
+
+        printDebug(messageSupplier.get());
+    }
+
     public void printMiniMessageDebug(@NotNull String message) {
+        if (!this.debugLanguage) {
+            return;
+        }
+
         printDebug("[MiniMessage] " + message);
     }
 
+    /**
+     * @return The time spent getting, rendering, and sending messages by key for this plugin.
+     */
+    public @NotNull LatencyHistogram getSendLatency() {
+        return this.sendLatency;
+    }
+
+    /**
+     * @return The cache and latency counters of every loaded language, keyed by language name.
+     */
+    public @NotNull Map<String, LanguageMetrics> getMetrics() {
+        Map<String, Language> languageMap = getLanguages();
+        Map<String, LanguageMetrics> metricsMap = new TreeMap<>();
+        for (Language language : languageMap.values()) {
+            String languageName = language.getLanguageName();
+            LanguageConfiguration configuration = language.getConfiguration();
+            metricsMap.put(languageName, configuration.getMetrics());
+        }
+
+        return Collections.unmodifiableMap(metricsMap);
+    }
+
+    public void resetMetrics() {
+        this.sendLatency.reset();
+        for (LanguageMetrics metrics : getMetrics().values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Reload the language settings and language files on the current thread.
+     * The previous languages stay available to other threads until the new languages are fully loaded.
+     */
     public void reloadLanguages() {
         reloadLanguageSettings();
-        reloadLanguageFiles();
+        LanguageSnapshot snapshot = reloadLanguageFiles();
+        publishSnapshot(snapshot);
+    }
+
+    /**
+     * Reload the language settings on the current thread and the language files on a background thread.
+     * The previous languages stay available until the new languages are fully loaded.
+     *
+     * @return A future that completes after the new languages are available.
+     */
+    public @NotNull CompletableFuture<Void> reloadLanguagesAsync() {
+        reloadLanguageSettings();
+        return reloadLanguageFilesAsync();
+    }
+
+    /**
+     * Reload the language files on the loader thread, so a reload does not use the common fork-join pool
+     * and lazy loads that are queued after it see the new files.
+     */
+    private @NotNull CompletableFuture<Void> reloadLanguageFilesAsync() {
+        CompletableFuture<LanguageSnapshot> future;
+        try {
+            ExecutorService loaderExecutor = this.loaderExecutor;
+            future = CompletableFuture.supplyAsync(this::reloadLanguageFiles, loaderExecutor);
+        } catch (RejectedExecutionException ex) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+        }
+
+        return future.thenAccept(this::publishSnapshot).whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                Logger logger = getLogger();
+                logger.log(Level.WARNING, "An error occurred while reloading the language files:", ex);
+            }
+        });
+    }
 
-        int languageCount = this.languageMap.size();
+    private void publishSnapshot(@NotNull LanguageSnapshot snapshot) {
+        synchronized (this.snapshotLock) {
+            this.snapshot = snapshot;
+        }
+
+        int languageCount = snapshot.getLoadedLanguageCount();
         Logger logger = getLogger();
         logger.info("Successfully loaded " + languageCount + " language(s).");
+
+        if (snapshot.isLazy()) {
+            int availableCount = snapshot.getAvailableLanguageCount();
+            logger.info("The other " + (availableCount - languageCount) + " language(s) will load on first use.");
+        }
     }
 
     private void reloadLanguageSettings() {
         ConfigurationManager configurationManager = getConfigurationManager();
         configurationManager.reload("language.yml");
+        applyLanguageSettings();
+    }
 
+    /**
+     * Read the language settings from the 'language.yml' configuration that is already in memory.
+     */
+    private void applyLanguageSettings() {
+        ConfigurationManager configurationManager = getConfigurationManager();
         YamlConfiguration configuration = configurationManager.get("language.yml");
         this.defaultLanguageName = configuration.getString("default-locale", "en_us");
         this.consoleLanguageName = configuration.getString("console-locale", "en_us");
         this.forceDefaultLanguage = configuration.getBoolean("enforce-default-locale", false);
         this.debugLanguage = configuration.getBoolean("debug-mode", false);
+        this.lazyLoadLanguages = configuration.getBoolean("lazy-load-languages", false);
+        this.maxLoadedLanguages = Math.max(0, configuration.getInt("max-loaded-languages", 0));
+        this.prewarmLanguages = configuration.getBoolean("prewarm-languages", false);
+        this.coalesceMessages = configuration.getBoolean("coalesce-action-bars-and-titles", false);
+        this.watchFiles = configuration.getBoolean("watch-files", false);
+        this.watchConfigurationFiles = configuration.getBoolean("watch-configuration-files", false);
+        this.languageCache = createLanguageCache(configuration.getBoolean("use-language-cache", false));
 
         PluginManager pluginManager = Bukkit.getPluginManager();
         boolean configPlaceholderAPI = configuration.getBoolean("use-placeholder-api", false);
         boolean realPlaceholderAPI = pluginManager.isPluginEnabled("PlaceholderAPI");
         this.usePlaceholderAPI = (configPlaceholderAPI && realPlaceholderAPI);
+
+        long placeholderCacheMillis = configuration.getLong("placeholder-api-cache-millis", 50L);
+        this.placeholderStringCache.setExpireMillis(placeholderCacheMillis);
+        this.placeholderComponentCache.setExpireMillis(placeholderCacheMillis);
+
+        Map<String, Long> duplicateWindowMap = new HashMap<>();
+        ConfigurationSection duplicateSection = configuration.getConfigurationSection("duplicate-message-windows");
+        if (duplicateSection != null) {
+            for (String key : duplicateSection.getKeys(true)) {
+                if (duplicateSection.isInt(key) || duplicateSection.isLong(key)) {
+                    duplicateWindowMap.put(key, duplicateSection.getLong(key));
+                }
+            }
+        }
+
+        this.duplicateFilter.setConfiguredWindows(duplicateWindowMap);
+        updateFileWatcher();
+    }
+
+    /**
+     * Do not send a message again to the same player within a window, unless the replacements are different.
+     * Duplicate messages are dropped before they are rendered. Messages to the console are never dropped.
+     * Windows from the 'duplicate-message-windows' section of 'language.yml' are also applied.
+     *
+     * @param key          The message key.
+     * @param windowMillis The window in milliseconds, or {@code 0} to always send the message.
+     */
+    public void setDuplicateMessageWindow(@NotNull MessageKey key, long windowMillis) {
+        this.duplicateFilter.setWindow(key, windowMillis);
+    }
+
+    /**
+     * @see #setDuplicateMessageWindow(MessageKey, long)
+     */
+    public void setDuplicateMessageWindow(@NotNull String key, long windowMillis) {
+        Validate.notEmpty(key, "key must not be empty!");
+        MessageKey messageKey = getMessageKey(key);
+        setDuplicateMessageWindow(messageKey, windowMillis);
+    }
+
+    /**
+     * @return An unmodifiable map of the duplicate message windows in milliseconds, by message key.
+     */
+    public @NotNull Map<String, Long> getDuplicateMessageWindows() {
+        return this.duplicateFilter.getWindows();
+    }
+
+    private boolean isDuplicate(@NotNull CommandSender audience, @NotNull MessageKey key,
+                                Replacer @NotNull [] replacerArray) {
+        if (!(audience instanceof Player)) {
+            return false;
+        }
+
+        Player player = (Player) audience;
+        UUID playerId = player.getUniqueId();
+        if (!this.duplicateFilter.shouldSend(playerId, key, replacerArray)) {
+            printDebug(() -> "Dropped duplicate message '" + key + "' for player '" + player.getName() + "'.");
+            return true;
+        }
+
+        return false;
+    }
+
+    private @Nullable LanguageCache createLanguageCache(boolean enabled) {
+        if (!enabled) {
+            return null;
+        }
+
+        String version = "unknown";
+        IResourceHolder resourceHolder = getPlugin();
+        if (resourceHolder instanceof WrapperPluginResourceHolder) {
+            Plugin plugin = ((WrapperPluginResourceHolder) resourceHolder).getPlugin();
+            PluginDescriptionFile description = plugin.getDescription();
+            version = description.getVersion();
+        }
+
+        ConfigurationManager configurationManager = getConfigurationManager();
+        File dataFolder = configurationManager.getBaseFolder();
+        File cacheFolder = new File(dataFolder, "language-cache");
+        return new LanguageCache(cacheFolder, version, getLogger());
     }
 
-    private void reloadLanguageFiles() {
-        this.defaultLanguage = null;
-        this.consoleLanguage = null;
-        this.languageMap.clear();
+    private synchronized void updateFileWatcher() {
+        updateLanguageWatcher();
+        updateConfigurationWatcher();
+    }
+
+    private synchronized void updateLanguageWatcher() {
+        if (!this.watchFiles) {
+            stopLanguageWatcher();
+            return;
+        }
 
+        if (this.languageWatcher != null) {
+            return;
+        }
+
+        ConfigurationManager configurationManager = getConfigurationManager();
         File dataFolder = configurationManager.getBaseFolder();
         File languageFolder = new File(dataFolder, "language");
-        if (!languageFolder.exists() || !languageFolder.isDirectory()) {
+
+        IResourceHolder plugin = getPlugin();
+        Logger logger = getLogger();
+        String threadName = (plugin.getName() + " Language Watcher");
+        FileWatcher fileWatcher = new FileWatcher(logger, threadName, 500L);
+        fileWatcher.addListener(this::onLanguageFilesChanged);
+
+        try {
+            fileWatcher.watch(languageFolder);
+            fileWatcher.start();
+            this.languageWatcher = fileWatcher;
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Failed to watch the language folder for changes:", ex);
+            fileWatcher.close();
             return;
         }
 
+        printDebug("Watching language files for changes.");
+    }
+
+    private synchronized void updateConfigurationWatcher() {
+        if (!this.watchConfigurationFiles) {
+            stopConfigurationWatcher();
+            return;
+        }
+
+        if (this.watchingConfiguration) {
+            return;
+        }
+
+        ConfigurationManager configurationManager = getConfigurationManager();
+        configurationManager.startWatching();
+        this.watchingConfiguration = true;
+        printDebug("Watching configuration files for changes.");
+    }
+
+    private void onConfigurationReloaded(@NotNull String fileName) {
+        if (fileName.equals("language.yml")) {
+            printDebug("Detected a change in 'language.yml', reloading all languages.");
+            applyLanguageSettings();
+            reloadLanguageFilesAsync();
+        }
+    }
+
+    private void onLanguageFilesChanged(@NotNull Set<File> fileSet) {
+        Set<String> languageNameSet = new LinkedHashSet<>();
+        for (File file : fileSet) {
+            String fileName = file.getName();
+            if (fileName.endsWith(".lang.yml")) {
+                languageNameSet.add(getLanguageName(file));
+            }
+        }
+
+        if (!languageNameSet.isEmpty()) {
+            reloadChangedLanguages(languageNameSet);
+        }
+    }
+
+    /**
+     * Reload only the language files that changed and the loaded languages that inherit from them.
+     * A changed language that is not loaded is only loaded again when a loaded language inherits from it.
+     * Other languages and their caches are not changed.
+     *
+     * @param languageNameSet The names of the languages that changed.
+     */
+    private void reloadChangedLanguages(@NotNull Set<String> languageNameSet) {
+        Logger logger = getLogger();
+
+        synchronized (this.snapshotLock) {
+            LanguageSnapshot snapshot = getSnapshot();
+            Map<String, Language> loadedMap = snapshot.getLanguageMap();
+            Map<String, LanguageTable> tableMap = new HashMap<>();
+            Set<String> unloadedChangedSet = new HashSet<>();
+            for (String languageName : languageNameSet) {
+                File languageFile = snapshot.getLanguageFile(languageName);
+                if (languageFile == null) {
+                    logger.info("Language '" + languageName + "' was added, use a full reload to load it.");
+                    continue;
+                }
+
+                if (!languageFile.isFile()) {
+                    continue;
+                }
+
+                if (!loadedMap.containsKey(languageName)) {
+                    unloadedChangedSet.add(languageName);
+                    continue;
+                }
+
+                LanguageTable table = reloadLanguageFile(languageFile);
+                if (table != null) {
+                    tableMap.put(languageName, table);
+                }
+            }
+
+            Map<String, LanguageTable> affectedMap = new LinkedHashMap<>(tableMap);
+            boolean foundChild;
+            do {
+                foundChild = false;
+                for (Language language : loadedMap.values()) {
+                    String languageName = language.getLanguageName();
+                    if (affectedMap.containsKey(languageName)) {
+                        continue;
+                    }
+
+                    LanguageConfiguration configuration = language.getConfiguration();
+                    LanguageTable table = configuration.getOwnTable();
+                    String parentName = getParentName(languageName, table);
+                    if (parentName != null && (affectedMap.containsKey(parentName)
+                            || unloadedChangedSet.contains(parentName))) {
+                        affectedMap.put(languageName, table);
+                        foundChild = true;
+                    }
+                }
+            } while (foundChild);
+
+            if (affectedMap.isEmpty()) {
+                return;
+            }
+
+            LanguageSnapshot.Builder builder = snapshot.toBuilder();
+            Language oldConsoleLanguage = builder.getConsoleLanguage();
+            List<String> orderList = orderByParent(affectedMap);
+            List<Language> reloadedList = new ArrayList<>(orderList.size());
+            for (String languageName : orderList) {
+                LanguageTable table = affectedMap.get(languageName);
+                boolean pinned = builder.isPinned(languageName);
+                Language defaultLanguage = builder.getDefaultLanguage();
+                Language parentLanguage = null;
+
+                String parentName = table.getString("parent");
+                if (parentName != null) {
+                    parentLanguage = loadLanguage(builder, parentName, pinned, new HashSet<>());
+                    if (parentLanguage == null) {
+                        parentLanguage = defaultLanguage;
+                    }
+                }
+
+                LanguageConfiguration languageConfiguration = reloadLanguage(table, parentLanguage, defaultLanguage);
+                Language language = new Language(languageName, languageConfiguration);
+                builder.addLanguage(language, pinned);
+                reloadedList.add(language);
+
+                if (languageName.equals(this.defaultLanguageName)) {
+                    builder.setDefaultLanguage(language);
+                }
+
+                if (oldConsoleLanguage != null && languageName.equals(oldConsoleLanguage.getLanguageName())) {
+                    builder.setConsoleLanguage(language);
+                }
+            }
+
+            if (this.prewarmLanguages) {
+                for (Language language : reloadedList) {
+                    prewarmLanguage(language);
+                }
+            }
+
+            this.snapshot = builder.build(getLocalesInUse());
+
+            int changedCount = tableMap.size();
+            int childCount = (orderList.size() - changedCount);
+            logger.info("Reloaded " + changedCount + " changed language(s) and " + childCount
+                    + " language(s) that inherit from them.");
+        }
+    }
+
+    private @Nullable String getParentName(@NotNull String languageName, @NotNull LanguageTable table) {
+        String parentName = table.getString("parent");
+        if (parentName != null) {
+            return parentName;
+        }
+
+        return (languageName.equals(this.defaultLanguageName) ? null : this.defaultLanguageName);
+    }
+
+    private @NotNull LanguageSnapshot reloadLanguageFiles() {
+        ConfigurationManager configurationManager = getConfigurationManager();
+        File dataFolder = configurationManager.getBaseFolder();
+        File languageFolder = new File(dataFolder, "language");
+        if (!languageFolder.exists() || !languageFolder.isDirectory()) {
+            return LanguageSnapshot.EMPTY;
+        }
+
         FilenameFilter filenameFilter = (folder, fileName) -> fileName.endsWith(".lang.yml");
         File[] fileArray = languageFolder.listFiles(filenameFilter);
         if (fileArray == null || fileArray.length < 1) {
-            return;
+            return LanguageSnapshot.EMPTY;
         }
 
-        List<YamlConfiguration> configurationList = new ArrayList<>();
+        Arrays.sort(fileArray, Comparator.comparing(File::getName));
+        Map<String, File> languageFileMap = new HashMap<>();
         for (File languageFile : fileArray) {
-            YamlConfiguration configuration = reloadLanguageFile(languageFile);
-            if (configuration == null) {
-                continue;
+            String languageName = getLanguageName(languageFile);
+            languageFileMap.put(languageName, languageFile);
+        }
+
+        boolean lazy = this.lazyLoadLanguages;
+        LanguageSnapshot.Builder builder = new LanguageSnapshot.Builder(languageFileMap, lazy,
+                this.maxLoadedLanguages);
+        if (lazy) {
+            Language defaultLanguage = loadLanguage(builder, this.defaultLanguageName, true, new HashSet<>());
+            builder.setDefaultLanguage(defaultLanguage);
+            loadLanguage(builder, this.consoleLanguageName, true, new HashSet<>());
+        } else {
+            reloadAllLanguages(builder, fileArray);
+        }
+
+        Logger logger = getLogger();
+        Language defaultLanguage = builder.getLanguage(this.defaultLanguageName);
+        if (defaultLanguage == null) {
+            logger.warning("The default language name '" + this.defaultLanguageName + "' is not valid.");
+        }
+
+        Language consoleLanguage = builder.getLanguage(this.consoleLanguageName);
+        if (consoleLanguage == null) {
+            logger.warning("The console language name '" + this.consoleLanguageName
+                    + "' is not valid, using default.");
+            consoleLanguage = defaultLanguage;
+        }
+
+        builder.setDefaultLanguage(defaultLanguage);
+        builder.setConsoleLanguage(consoleLanguage);
+
+        LanguageSnapshot snapshot = builder.build(getLocalesInUse());
+        if (this.prewarmLanguages) {
+            prewarmLanguages(snapshot);
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Load every cached message of the languages in a snapshot on a bounded pool of daemon threads.
+     * This is done before the snapshot is published, so players never wait for a message to be parsed.
+     *
+     * @param snapshot The snapshot with the languages to load.
+     */
+    private void prewarmLanguages(@NotNull LanguageSnapshot snapshot) {
+        Map<String, Language> languageMap = snapshot.getLanguageMap();
+        if (languageMap.isEmpty()) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        int processorCount = Runtime.getRuntime().availableProcessors();
+        int threadCount = Math.max(1, Math.min(Math.min(languageMap.size(), processorCount), MAX_LOADER_THREADS));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, this::createLoaderThread);
+
+        int pathCount = 0;
+        try {
+            List<CompletableFuture<Integer>> futureList = new ArrayList<>(languageMap.size());
+            for (Language language : languageMap.values()) {
+                futureList.add(CompletableFuture.supplyAsync(() -> prewarmLanguage(language), executor));
             }
 
-            configurationList.add(configuration);
+            for (CompletableFuture<Integer> future : futureList) {
+                pathCount += future.join();
+            }
+        } finally {
+            executor.shutdown();
         }
 
-        LanguageConfigurationComparator comparator = new LanguageConfigurationComparator();
-        configurationList.sort(comparator);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        Logger logger = getLogger();
+        logger.info("Pre-loaded " + pathCount + " message(s) for " + languageMap.size() + " language(s) in "
+                + millis + "ms.");
+    }
+
+    private int prewarmLanguage(@NotNull Language language) {
+        long startNanos = System.nanoTime();
+        String languageName = language.getLanguageName();
+        LanguageConfiguration configuration = language.getConfiguration();
+
+        try {
+            int pathCount = configuration.prewarm();
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            printDebug(() -> "Pre-loaded " + pathCount + " message(s) for language '" + languageName + "' in "
+                    + millis + "ms.");
+            return pathCount;
+        } catch (RuntimeException ex) {
+            Logger logger = getLogger();
+            logger.log(Level.WARNING, "An error occurred while pre-loading language '" + languageName + "':", ex);
+            return 0;
+        }
+    }
+
+    private void reloadAllLanguages(@NotNull LanguageSnapshot.Builder builder, @NotNull File @NotNull [] fileArray) {
+        List<LanguageTable> tableList = reloadLanguageFiles(fileArray);
+        Map<String, LanguageTable> tableMap = new LinkedHashMap<>();
+        for (LanguageTable table : tableList) {
+            String languageName = table.getString("language-name", "");
+            tableMap.put(languageName, table);
+        }
 
-        for (YamlConfiguration configuration : configurationList) {
-            LanguageConfiguration languageConfiguration = reloadLanguage(configuration);
-            String languageName = configuration.getString("language-name");
+        Map<String, Language> languageMap = new HashMap<>();
+        for (String languageName : orderByParent(tableMap)) {
+            LanguageTable table = tableMap.get(languageName);
+            Language defaultLanguage = languageMap.get(this.defaultLanguageName);
+            Language parentLanguage = null;
+
+            String parentName = table.getString("parent");
+            if (parentName != null) {
+                parentLanguage = languageMap.getOrDefault(parentName, defaultLanguage);
+            }
+
+            LanguageConfiguration languageConfiguration = reloadLanguage(table, parentLanguage, defaultLanguage);
             Language language = new Language(languageName, languageConfiguration);
-            this.languageMap.put(languageName, language);
+            languageMap.put(languageName, language);
+            builder.addLanguage(language, true);
+        }
+    }
+
+    /**
+     * Sort languages so every language comes after its parent.
+     * Languages without a parent inherit from the default language.
+     *
+     * @param tableMap The tables of the languages to sort, keyed by language name.
+     * @return The names of the languages, parents first.
+     */
+    private @NotNull List<String> orderByParent(@NotNull Map<String, LanguageTable> tableMap) {
+        List<String> orderList = new ArrayList<>(tableMap.size());
+        Set<String> remainingSet = new LinkedHashSet<>(tableMap.keySet());
+        while (!remainingSet.isEmpty()) {
+            boolean progress = false;
+            Iterator<String> iterator = remainingSet.iterator();
+            while (iterator.hasNext()) {
+                String languageName = iterator.next();
+                String parentName = getParentName(languageName, tableMap.get(languageName));
+                if (parentName == null || !remainingSet.contains(parentName)) {
+                    orderList.add(languageName);
+                    iterator.remove();
+                    progress = true;
+                }
+            }
+
+            if (!progress) {
+                Logger logger = getLogger();
+                logger.warning("Cyclic Language Dependency: " + remainingSet);
+                orderList.addAll(remainingSet);
+                break;
+            }
+        }
+
+        return orderList;
+    }
+
+    /**
+     * Load a single language and its parents, then publish a new snapshot that includes them.
+     *
+     * @param languageName The name of the language to load.
+     * @return The loaded language, or {@code null} if it does not exist or failed to load.
+     */
+    private @Nullable Language loadLanguage(@NotNull String languageName) {
+        synchronized (this.snapshotLock) {
+            LanguageSnapshot snapshot = getSnapshot();
+            Language language = snapshot.getLanguage(languageName);
+            if (language != null || !snapshot.isAvailable(languageName)) {
+                return language;
+            }
+
+            LanguageSnapshot.Builder builder = snapshot.toBuilder();
+            language = loadLanguage(builder, languageName, false, new HashSet<>());
+            this.snapshot = builder.build(getLocalesInUse());
+            return language;
+        }
+    }
+
+    /**
+     * Load a language on the language loader thread. Other requests for the same language are ignored
+     * until it is loaded.
+     *
+     * @param languageName The name of the language to load.
+     */
+    private void loadLanguageAsync(@NotNull String languageName) {
+        if (!this.loadingLanguageSet.add(languageName)) {
+            return;
+        }
+
+        printDebug(() -> "Loading language '" + languageName + "' in the background.");
+        Runnable task = () -> {
+            try {
+                Language language = loadLanguage(languageName);
+                if (language != null && this.prewarmLanguages) {
+                    prewarmLanguage(language);
+                }
+            } catch (RuntimeException ex) {
+                Logger logger = getLogger();
+                logger.log(Level.WARNING, "An error occurred while loading language '" + languageName + "':", ex);
+            } finally {
+                this.loadingLanguageSet.remove(languageName);
+            }
+        };
+
+        try {
+            ExecutorService loaderExecutor = this.loaderExecutor;
+            loaderExecutor.execute(task);
+        } catch (RejectedExecutionException ex) {
+            this.loadingLanguageSet.remove(languageName);
+        }
+    }
+
+    /**
+     * @return The locales of the online players, which must stay loaded.
+     */
+    private @NotNull Set<String> getLocalesInUse() {
+        return new HashSet<>(this.localeMap.values());
+    }
+
+    /**
+     * Load a single language and its parents into a snapshot builder.
+     *
+     * @param builder      The builder of the next snapshot.
+     * @param languageName The name of the language to load.
+     * @param pinned       {@code true} to keep the language loaded until the next reload.
+     * @param loadingSet   The names of the languages that are being loaded, to detect cycles.
+     * @return The loaded language, or {@code null} if it does not exist or failed to load.
+     */
+    private @Nullable Language loadLanguage(@NotNull LanguageSnapshot.Builder builder, @NotNull String languageName,
+                                            boolean pinned, @NotNull Set<String> loadingSet) {
+        Language language = builder.getLanguage(languageName);
+        if (language != null) {
+            return language;
+        }
+
+        File languageFile = builder.getLanguageFile(languageName);
+        if (languageFile == null || !builder.isAvailable(languageName)) {
+            return null;
+        }
+
+        if (!loadingSet.add(languageName)) {
+            Logger logger = getLogger();
+            logger.warning("Cyclic Language Dependency: " + loadingSet);
+            return null;
+        }
+
+        LanguageTable table = reloadLanguageFile(languageFile);
+        if (table == null) {
+            builder.markFailed(languageName);
+            return null;
+        }
+
+        Language defaultLanguage = builder.getDefaultLanguage();
+        Language parentLanguage = null;
+
+        String parentName = table.getString("parent");
+        if (parentName != null) {
+            parentLanguage = loadLanguage(builder, parentName, pinned, loadingSet);
+            if (parentLanguage == null) {
+                parentLanguage = defaultLanguage;
+            }
+        }
+
+        LanguageConfiguration languageConfiguration = reloadLanguage(table, parentLanguage, defaultLanguage);
+        language = new Language(languageName, languageConfiguration);
+        builder.addLanguage(language, pinned);
+        return language;
+    }
+
+    /**
+     * Parse language files in parallel on a bounded pool of daemon threads.
+     *
+     * @param fileArray The files to parse.
+     * @return The parsed language tables, in the same order as the files. Files that fail to load are skipped.
+     */
+    private @NotNull List<LanguageTable> reloadLanguageFiles(@NotNull File @NotNull [] fileArray) {
+        int processorCount = Runtime.getRuntime().availableProcessors();
+        int threadCount = Math.max(1, Math.min(Math.min(fileArray.length, processorCount), MAX_LOADER_THREADS));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, this::createLoaderThread);
+
+        try {
+            List<CompletableFuture<LanguageTable>> futureList = new ArrayList<>(fileArray.length);
+            for (File languageFile : fileArray) {
+                futureList.add(CompletableFuture.supplyAsync(() -> reloadLanguageFile(languageFile), executor));
+            }
+
+            List<LanguageTable> tableList = new ArrayList<>(fileArray.length);
+            for (CompletableFuture<LanguageTable> future : futureList) {
+                LanguageTable table = future.join();
+                if (table != null) {
+                    tableList.add(table);
+                }
+            }
+
+            return tableList;
+        } finally {
+            executor.shutdown();
         }
     }
 
-    private @Nullable YamlConfiguration reloadLanguageFile(@NotNull File file) {
+    private @NotNull Thread createLoaderThread(@NotNull Runnable task) {
+        IResourceHolder plugin = getPlugin();
+        String threadName = (plugin.getName() + " Language Loader");
+        Thread thread = new Thread(task, threadName);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private @NotNull String getLanguageName(@NotNull File file) {
         String languageFileName = file.getName();
-        String languageName = languageFileName.replace(".lang.yml", "");
+        return languageFileName.replace(".lang.yml", "");
+    }
+
+    /**
+     * Load a language file from the binary cache, or parse it from YAML if the cache is missing or outdated.
+     *
+     * @param file The language file.
+     * @return The flattened language table, or {@code null} if the file could not be loaded.
+     */
+    private @Nullable LanguageTable reloadLanguageFile(@NotNull File file) {
+        String languageName = getLanguageName(file);
 
         try {
-            YamlConfiguration configuration = new YamlConfiguration();
-            configuration.load(file);
+            byte[] source = Files.readAllBytes(file.toPath());
+            LanguageCache languageCache = this.languageCache;
+            if (languageCache != null) {
+                LanguageTable table = languageCache.read(languageName, source);
+                if (table != null) {
+                    printDebug(() -> "Loaded language '" + languageName + "' from the language cache.");
+                    return table;
+                }
+            }
 
+            YamlConfiguration configuration = new YamlConfiguration();
+            configuration.loadFromString(new String(source, StandardCharsets.UTF_8));
             configuration.set("language-name", languageName);
-            return configuration;
+
+            LanguageTable table = LanguageTable.flatten(configuration);
+            if (languageCache != null) {
+                languageCache.write(languageName, source, table);
+            }
+
+            return table;
         } catch (IOException | InvalidConfigurationException ex) {
             Logger logger = getLogger();
             logger.log(Level.WARNING, "An error occurred while loading a language file:", ex);
@@ -362,29 +1168,23 @@ public final class LanguageManager {
         }
     }
 
-    private @NotNull LanguageConfiguration reloadLanguage(@NotNull YamlConfiguration configuration) {
+    private @NotNull LanguageConfiguration reloadLanguage(@NotNull LanguageTable table,
+                                                          @Nullable Language parentLanguage,
+                                                          @Nullable Language defaultLanguage) {
         MiniMessage miniMessage = getMiniMessage();
-        LanguageConfiguration languageConfiguration = new LanguageConfiguration(configuration, miniMessage);
+        LanguageConfiguration languageConfiguration = new LanguageConfiguration(table, miniMessage, this.keyRegistry);
 
-        String parentName = configuration.getString("parent");
-        if (parentName != null) {
-            Language language = getLanguage(parentName);
-            if (language != null) {
-                LanguageConfiguration parent = language.getConfiguration();
-                languageConfiguration.setParent(parent);
-            }
+        String languageName = table.getString("language-name", "");
+        if (parentLanguage == null && !languageName.equals(this.defaultLanguageName)) {
+            parentLanguage = defaultLanguage;
         }
 
-        String languageName = configuration.getString("language-name");
-        if (!languageName.equals(this.defaultLanguageName) && !languageConfiguration.getParent().isPresent()) {
-            Language defaultLanguage = getDefaultLanguage();
-            if (defaultLanguage != null) {
-                LanguageConfiguration defaultLanguageConfiguration = defaultLanguage.getConfiguration();
-                languageConfiguration.setParent(defaultLanguageConfiguration);
-            }
+        if (parentLanguage != null) {
+            LanguageConfiguration parent = parentLanguage.getConfiguration();
+            languageConfiguration.setParent(parent);
         }
 
-        String decimalFormatString = configuration.getString("decimal-format");
+        String decimalFormatString = table.getString("decimal-format");
         if (decimalFormatString != null && !decimalFormatString.isEmpty()) {
             DecimalFormat decimalFormat = new DecimalFormat(decimalFormatString);
             languageConfiguration.setDecimalFormat(decimalFormat);
@@ -398,12 +1198,33 @@ public final class LanguageManager {
             return "";
         }
 
-        if (!(audience instanceof OfflinePlayer)) {
+        if (!(audience instanceof OfflinePlayer) || message.indexOf('%') < 0) {
+            return message;
+        }
+
+        Matcher matcher = PlaceholderAPI.getPlaceholderPattern().matcher(message);
+        if (!matcher.find()) {
             return message;
         }
 
         OfflinePlayer player = (OfflinePlayer) audience;
-        return PlaceholderAPI.setPlaceholders(player, message);
+        StringBuilder builder = new StringBuilder(message.length() + 16);
+        int position = 0;
+
+        do {
+            builder.append(message, position, matcher.start());
+            builder.append(resolvePlaceholderAPI(player, matcher.group()));
+            position = matcher.end();
+        } while (matcher.find());
+
+        builder.append(message, position, message.length());
+        return builder.toString();
+    }
+
+    private @NotNull String resolvePlaceholderAPI(@NotNull OfflinePlayer player, @NotNull String placeholder) {
+        UUID playerId = player.getUniqueId();
+        return this.placeholderStringCache.get(playerId, placeholder,
+                match -> PlaceholderAPI.setPlaceholders(player, match));
     }
 
     private @NotNull Component replacePlaceholderAPI(@Nullable CommandSender audience, @NotNull Component message) {
@@ -423,8 +1244,13 @@ public final class LanguageManager {
     private @NotNull ComponentLike replacePlaceholderAPI(@NotNull OfflinePlayer player,
                                                          @NotNull MatchResult matchResult) {
         String match = matchResult.group();
-        String replaced = PlaceholderAPI.setPlaceholders(player, match);
+        UUID playerId = player.getUniqueId();
+        return this.placeholderComponentCache.get(playerId, match,
+                placeholder -> deserializePlaceholderAPI(player, placeholder));
+    }
 
+    private @NotNull Component deserializePlaceholderAPI(@NotNull OfflinePlayer player, @NotNull String placeholder) {
+        String replaced = resolvePlaceholderAPI(player, placeholder);
         if (replaced.contains("§")) {
             LegacyComponentSerializer serializer = LegacyComponentSerializer.legacySection();
             return serializer.deserialize(replaced);
@@ -434,6 +1260,38 @@ public final class LanguageManager {
         }
     }
 
+    /**
+     * Render a part of a title, player list, or modifiable message.
+     * Parts that are not set in the language file are empty and are not rendered.
+     */
+    private @NotNull Component renderPart(@Nullable CommandSender audience,
+                                          @NotNull LanguageConfiguration configuration, @NotNull Component part,
+                                          @NotNull String path, Replacer @NotNull ... replacerArray) {
+        if (Component.empty().equals(part)) {
+            return part;
+        }
+
+        MessageTemplate template = configuration.getMessageTemplate(path);
+        return renderMessage(audience, configuration, template, replacerArray);
+    }
+
+    private @NotNull Component renderMessage(@Nullable CommandSender audience,
+                                             @NotNull LanguageConfiguration configuration,
+                                             @NotNull MessageTemplate template, Replacer @NotNull ... replacerArray) {
+        long startNanos = System.nanoTime();
+        Component message = template.getMessage();
+        if (this.usePlaceholderAPI && template.hasPlaceholderAPI()) {
+            Component replaced = replacePlaceholderAPI(audience, message);
+            template = template.getExpandedTemplate(replaced);
+        }
+
+        Component rendered = template.render(replacerArray);
+        LanguageMetrics metrics = configuration.getMetrics();
+        LatencyHistogram renderLatency = metrics.getRenderLatency();
+        renderLatency.record(System.nanoTime() - startNanos);
+        return rendered;
+    }
+
     public @NotNull String getMessageRaw(@Nullable CommandSender audience, @NotNull String key) {
         Validate.notEmpty(key, "key must not be empty!");
 
@@ -456,13 +1314,7 @@ public final class LanguageManager {
             message = replacePlaceholderAPI(audience, message);
         }
 
-        for (Replacer replacer : replacerArray) {
-            String target = replacer.getTarget();
-            String replacement = replacer.getReplacementString();
-            message = message.replace(target, replacement);
-        }
-
-        return message;
+        return Replacer.replaceAll(message, replacerArray);
     }
 
     public @NotNull List<Component> getMessageList(@Nullable CommandSender audience, @NotNull String key,
@@ -477,66 +1329,63 @@ public final class LanguageManager {
         }
 
         LanguageConfiguration configuration = language.getConfiguration();
-        List<Component> messages = configuration.getMessageList(key);
-
-        if (this.usePlaceholderAPI) {
-            List<Component> newMessages = new ArrayList<>();
-            for (Component message : messages) {
-                message = replacePlaceholderAPI(audience, message);
-                newMessages.add(message);
-            }
-
-            messages = newMessages;
-        }
+        List<MessageTemplate> templates = configuration.getMessageTemplateList(key);
 
-        for (Replacer replacer : replacerArray) {
-            List<Component> newMessages = new ArrayList<>();
-            TextReplacementConfig replacementConfig = replacer.asReplacementConfig();
-            for (Component message : messages) {
-                message = message.replaceText(replacementConfig);
-                newMessages.add(message);
-            }
-
-            messages = newMessages;
+        List<Component> newMessages = new ArrayList<>(templates.size());
+        for (MessageTemplate template : templates) {
+            Component message = renderMessage(audience, configuration, template, replacerArray);
+            newMessages.add(message);
         }
 
-        return messages;
+        return newMessages;
     }
 
     public @NotNull Component getMessage(@Nullable CommandSender audience, @NotNull String key,
                                          Replacer @NotNull ... replacerArray) {
         Validate.notEmpty(key, "key must not be empty!");
+        MessageKey messageKey = getMessageKey(key);
+        return getMessage(audience, messageKey, replacerArray);
+    }
 
+    /**
+     * Get a message for an audience by key.
+     * This is the same as {@link #getMessage(CommandSender, String, Replacer...)},
+     * but the message is found with array indexing instead of a map lookup.
+     *
+     * @param audience      The audience that will receive the message.
+     * @param key           The key of the message, see {@link #getMessageKey(String)}.
+     * @param replacerArray The replacers to apply to the message.
+     * @return The message for the audience.
+     */
+    public @NotNull Component getMessage(@Nullable CommandSender audience, @NotNull MessageKey key,
+                                         Replacer @NotNull ... replacerArray) {
         Language language = getLanguage(audience);
         if (language == null) {
             Logger logger = getLogger();
             logger.warning("There are no languages available.");
-            return Component.text(String.format(Locale.US, "{%s}", key));
+            return Component.text(String.format(Locale.US, "{%s}", key.getPath()));
         }
 
         LanguageConfiguration configuration = language.getConfiguration();
-        Component message = configuration.getMessage(key);
-
-        if (this.usePlaceholderAPI) {
-            message = replacePlaceholderAPI(audience, message);
-        }
-
-        for (Replacer replacer : replacerArray) {
-            TextReplacementConfig replacementConfig = replacer.asReplacementConfig();
-            message = message.replaceText(replacementConfig);
-        }
-
-        return message;
+        MessageTemplate template = configuration.getMessageTemplate(key);
+        return renderMessage(audience, configuration, template, replacerArray);
     }
 
     public @NotNull Component getMessageWithPrefix(@Nullable CommandSender audience, @NotNull String key,
                                                    Replacer @NotNull ... replacerArray) {
+        Validate.notEmpty(key, "key must not be empty!");
+        MessageKey messageKey = getMessageKey(key);
+        return getMessageWithPrefix(audience, messageKey, replacerArray);
+    }
+
+    public @NotNull Component getMessageWithPrefix(@Nullable CommandSender audience, @NotNull MessageKey key,
+                                                   Replacer @NotNull ... replacerArray) {
         Component message = getMessage(audience, key, replacerArray);
         if (Component.empty().equals(message)) {
             return Component.empty();
         }
 
-        Component prefix = getMessage(audience, "prefix", replacerArray);
+        Component prefix = getMessage(audience, this.prefixKey, replacerArray);
         if (!Component.empty().equals(prefix)) {
             TextComponent.Builder builder = Component.text();
             builder.append(prefix);
@@ -564,16 +1413,8 @@ public final class LanguageManager {
 
         LanguageConfiguration configuration = language.getConfiguration();
         ModifiableMessage modifiable = configuration.getModifiableMessage(key);
-        Component message = modifiable.getMessage();
-
-        if (this.usePlaceholderAPI) {
-            message = replacePlaceholderAPI(audience, message);
-        }
-
-        for (Replacer replacer : replacerArray) {
-            TextReplacementConfig replacementConfig = replacer.asReplacementConfig();
-            message = message.replaceText(replacementConfig);
-        }
+        String messagePath = configuration.getModifiableMessagePath(key);
+        Component message = renderPart(audience, configuration, modifiable.getMessage(), messagePath, replacerArray);
 
         ModifiableMessage newModifiable = new ModifiableMessage();
         newModifiable.setType(modifiable.getType());
@@ -595,19 +1436,9 @@ public final class LanguageManager {
         LanguageConfiguration configuration = language.getConfiguration();
         Title title = configuration.getTitle(key);
 
-        Component titleMessage = title.title();
-        Component subtitleMessage = title.subtitle();
-
-        if (this.usePlaceholderAPI) {
-            titleMessage = replacePlaceholderAPI(audience, titleMessage);
-            subtitleMessage = replacePlaceholderAPI(audience, subtitleMessage);
-        }
-
-        for (Replacer replacer : replacerArray) {
-            TextReplacementConfig replacementConfig = replacer.asReplacementConfig();
-            titleMessage = titleMessage.replaceText(replacementConfig);
-            subtitleMessage = subtitleMessage.replaceText(replacementConfig);
-        }
+        Component titleMessage = renderPart(audience, configuration, title.title(), key + ".title", replacerArray);
+        Component subtitleMessage = renderPart(audience, configuration, title.subtitle(), key + ".subtitle",
+                replacerArray);
 
         Times times = title.times();
         return Title.title(titleMessage, subtitleMessage, times);
@@ -627,19 +1458,10 @@ public final class LanguageManager {
         LanguageConfiguration configuration = language.getConfiguration();
         PlayerListInfo playerListInfo = configuration.getPlayerListInfo(key);
 
-        Component headerMessage = playerListInfo.getHeader();
-        Component footerMessage = playerListInfo.getFooter();
-
-        if (this.usePlaceholderAPI) {
-            headerMessage = replacePlaceholderAPI(audience, headerMessage);
-            footerMessage = replacePlaceholderAPI(audience, footerMessage);
-        }
-
-        for (Replacer replacer : replacerArray) {
-            TextReplacementConfig replacementConfig = replacer.asReplacementConfig();
-            headerMessage = headerMessage.replaceText(replacementConfig);
-            footerMessage = footerMessage.replaceText(replacementConfig);
-        }
+        Component headerMessage = renderPart(audience, configuration, playerListInfo.getHeader(), key + ".header",
+                replacerArray);
+        Component footerMessage = renderPart(audience, configuration, playerListInfo.getFooter(), key + ".footer",
+                replacerArray);
 
         PlayerListInfo newPlayerListInfo = new PlayerListInfo();
         newPlayerListInfo.setHeader(headerMessage);
@@ -676,15 +1498,28 @@ public final class LanguageManager {
     }
 
     private void sendNoAudience(@NotNull CommandSender sender, @NotNull Component message) {
-        BaseComponent[] bungeeComponents = ComponentBungeeConverter.toBungee(message);
+        BaseComponent[] bungeeComponents = SerializedComponentCache.toBungee(message);
         CommandSender.Spigot spigot = sender.spigot();
         spigot.sendMessage(bungeeComponents);
     }
 
     public void sendMessage(@NotNull CommandSender audience, @NotNull String key,
                             Replacer @NotNull ... replacerArray) {
+        Validate.notEmpty(key, "key must not be empty!");
+        MessageKey messageKey = getMessageKey(key);
+        sendMessage(audience, messageKey, replacerArray);
+    }
+
+    public void sendMessage(@NotNull CommandSender audience, @NotNull MessageKey key,
+                            Replacer @NotNull ... replacerArray) {
+        if (isDuplicate(audience, key, replacerArray)) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
         Component message = getMessage(audience, key, replacerArray);
         sendMessage(audience, message);
+        this.sendLatency.record(System.nanoTime() - startNanos);
     }
 
     public void sendMessage(@NotNull CommandSender audience, @NotNull Component message) {
@@ -703,17 +1538,67 @@ public final class LanguageManager {
 
     public void sendMessageWithPrefix(@NotNull CommandSender audience, @NotNull String key,
                                       Replacer @NotNull ... replacerArray) {
+        Validate.notEmpty(key, "key must not be empty!");
+        MessageKey messageKey = getMessageKey(key);
+        sendMessageWithPrefix(audience, messageKey, replacerArray);
+    }
+
+    public void sendMessageWithPrefix(@NotNull CommandSender audience, @NotNull MessageKey key,
+                                      Replacer @NotNull ... replacerArray) {
+        if (isDuplicate(audience, key, replacerArray)) {
+            return;
+        }
+
         Component message = getMessageWithPrefix(audience, key, replacerArray);
         sendMessage(audience, message);
     }
 
     public void sendActionBar(@NotNull CommandSender audience, @NotNull String key,
                               Replacer @NotNull ... replacerArray) {
+        Validate.notEmpty(key, "key must not be empty!");
+        MessageKey messageKey = getMessageKey(key);
+        sendActionBar(audience, messageKey, replacerArray);
+    }
+
+    public void sendActionBar(@NotNull CommandSender audience, @NotNull MessageKey key,
+                              Replacer @NotNull ... replacerArray) {
+        if (isDuplicate(audience, key, replacerArray)) {
+            return;
+        }
+
+        CoalescingDispatcher dispatcher = getDispatcher(audience);
+        if (dispatcher != null) {
+            dispatcher.queueActionBar((Player) audience, () -> getMessage(audience, key, replacerArray));
+            return;
+        }
+
         Component message = getMessage(audience, key, replacerArray);
-        sendActionBar(audience, message);
+        sendActionBarNow(audience, message);
     }
 
     public void sendActionBar(@NotNull CommandSender audience, @NotNull Component message) {
+        CoalescingDispatcher dispatcher = getDispatcher(audience);
+        if (dispatcher != null) {
+            dispatcher.queueActionBar((Player) audience, () -> message);
+            return;
+        }
+
+        sendActionBarNow(audience, message);
+    }
+
+    /**
+     * @param audience The audience that will receive a message.
+     * @return The dispatcher for the audience, or {@code null} if messages to the audience are sent immediately.
+     */
+    private @Nullable CoalescingDispatcher getDispatcher(@NotNull CommandSender audience) {
+        if (!this.coalesceMessages || !(audience instanceof Player)) {
+            return null;
+        }
+
+        return this.dispatcher;
+    }
+
+    void sendActionBarNow(@NotNull CommandSender audience, @NotNull Component message) {
         if (Component.empty().equals(message)) {
             return;
         }
@@ -728,6 +1613,11 @@ public final class LanguageManager {
 
     public void sendModifiableMessage(@NotNull CommandSender audience, @NotNull String key,
                                       Replacer @NotNull ... replacerArray) {
+        MessageKey messageKey = getMessageKey(key);
+        if (isDuplicate(audience, messageKey, replacerArray)) {
+            return;
+        }
+
         ModifiableMessage modifiable = getMessageModifiable(audience, key, replacerArray);
         Component message = modifiable.getMessage();
         if (Component.empty().equals(message)) {
@@ -749,6 +1639,11 @@ public final class LanguageManager {
 
     public void sendModifiableMessageWithPrefix(@NotNull CommandSender audience, @NotNull String key,
                                                 Replacer @NotNull ... replacerArray) {
+        MessageKey messageKey = getMessageKey(key);
+        if (isDuplicate(audience, messageKey, replacerArray)) {
+            return;
+        }
+
         ModifiableMessage modifiable = getMessageModifiable(audience, key, replacerArray);
         Component message = modifiable.getMessage();
         if (Component.empty().equals(message)) {
@@ -757,7 +1652,7 @@ public final class LanguageManager {
 
         ModifiableMessageType type = modifiable.getType();
         if (type == ModifiableMessageType.CHAT) {
-            Component prefix = getMessage(audience, "prefix");
+            Component prefix = getMessage(audience, this.prefixKey);
             if (!Component.empty().equals(prefix)) {
                 TextComponent.Builder builder = Component.text();
                 builder.append(prefix);
@@ -779,11 +1674,33 @@ public final class LanguageManager {
 
     public void sendTitle(@NotNull CommandSender audience, @NotNull String key,
                           Replacer @NotNull ... replacerArray) {
+        Validate.notEmpty(key, "key must not be empty!");
+        MessageKey messageKey = getMessageKey(key);
+        if (isDuplicate(audience, messageKey, replacerArray)) {
+            return;
+        }
+
+        CoalescingDispatcher dispatcher = getDispatcher(audience);
+        if (dispatcher != null) {
+            dispatcher.queueTitle((Player) audience, () -> getTitle(audience, key, replacerArray));
+            return;
+        }
+
         Title title = getTitle(audience, key, replacerArray);
-        sendTitle(audience, title);
+        sendTitleNow(audience, title);
     }
 
     public void sendTitle(@NotNull CommandSender audience, @NotNull Title title) {
+        CoalescingDispatcher dispatcher = getDispatcher(audience);
+        if (dispatcher != null) {
+            dispatcher.queueTitle((Player) audience, () -> title);
+            return;
+        }
+
+        sendTitleNow(audience, title);
+    }
+
+    void sendTitleNow(@NotNull CommandSender audience, @NotNull Title title) {
         if (Component.empty().equals(title.title()) && Component.empty().equals(title.subtitle())) {
             return;
         }
@@ -798,6 +1715,11 @@ public final class LanguageManager {
 
     public void sendPlayerListInfo(@NotNull CommandSender audience, @NotNull String key,
                                    Replacer @NotNull ... replacerArray) {
+        MessageKey messageKey = getMessageKey(key);
+        if (isDuplicate(audience, messageKey, replacerArray)) {
+            return;
+        }
+
         PlayerListInfo playerListInfo = getPlayerListInfo(audience, key, replacerArray);
         sendPlayerListInfo(audience, playerListInfo);
     }
@@ -814,6 +1736,11 @@ public final class LanguageManager {
     }
 
     public void sendSound(@NotNull CommandSender audience, @NotNull String key) {
+        MessageKey messageKey = getMessageKey(key);
+        if (isDuplicate(audience, messageKey, new Replacer[0])) {
+            return;
+        }
+
         Sound sound = getSound(audience, key);
         if (sound == null) {
             return;
@@ -842,13 +1769,61 @@ public final class LanguageManager {
         CommandSender console = Bukkit.getConsoleSender();
         sendMessage(console, key, replacerArray);
 
+        MessageKey messageKey = getMessageKey(key);
+        Map<Language, List<Player>> languageGroupMap = new HashMap<>();
         for (Player player : players) {
-            if (hasPermission(player, permission)) {
-                sendMessage(player, key, replacerArray);
+            if (!hasPermission(player, permission) || isDuplicate(player, messageKey, replacerArray)) {
+                continue;
             }
+
+            Language language = getLanguage(player);
+            if (language == null || isPlayerDependent(language, key)) {
+                Component message = getMessage(player, messageKey, replacerArray);
+                sendMessage(player, message);
+                continue;
+            }
+
+            List<Player> playerList = languageGroupMap.computeIfAbsent(language, ignored -> new ArrayList<>());
+            playerList.add(player);
+        }
+
+        for (Map.Entry<Language, List<Player>> entry : languageGroupMap.entrySet()) {
+            Language language = entry.getKey();
+            List<Player> playerList = entry.getValue();
+            broadcastMessage(language, playerList, key, replacerArray);
+        }
+    }
+
+    /**
+     * Render a message once for a language and send the same component to the audience of every player.
+     */
+    private void broadcastMessage(@NotNull Language language, @NotNull List<Player> players, @NotNull String key,
+                                  Replacer @NotNull ... replacerArray) {
+        LanguageConfiguration configuration = language.getConfiguration();
+        MessageTemplate template = configuration.getMessageTemplate(key);
+        Component message = renderMessage(null, configuration, template, replacerArray);
+        if (Component.empty().equals(message)) {
+            return;
+        }
+
+        for (Player player : players) {
+            sendMessage(player, message);
         }
     }
 
+    /**
+     * @return {@code true} if the message may contain PlaceholderAPI placeholders and must be rendered per player.
+     */
+    private boolean isPlayerDependent(@NotNull Language language, @NotNull String key) {
+        if (!this.usePlaceholderAPI) {
+            return false;
+        }
+
+        LanguageConfiguration configuration = language.getConfiguration();
+        MessageTemplate template = configuration.getMessageTemplate(key);
+        return template.hasPlaceholderAPI();
+    }
+
     private boolean hasPermission(@NotNull Player player, @Nullable String permission) {
         if (permission == null || permission.isEmpty()) {
             return true;
@@ -857,6 +1832,13 @@ public final class LanguageManager {
         return player.hasPermission(permission);
     }
 
+    /**
+     * The returned format is shared and is not thread-safe.
+     * Use {@link #getNumberFormatter(CommandSender)} to format numbers from other threads.
+     *
+     * @param sender The sender whose language is used.
+     * @return The decimal format of the language of the sender.
+     */
     public @NotNull DecimalFormat getDecimalFormat(@Nullable CommandSender sender) {
         Language language = getLanguage(sender);
         if (language == null) {
@@ -867,4 +1849,17 @@ public final class LanguageManager {
         LanguageConfiguration configuration = language.getConfiguration();
         return configuration.getDecimalFormat();
     }
+
+    /**
+     * @param sender The sender whose language is used.
+     * @return A thread-safe number formatter for the language of the sender.
+     */
+    public @NotNull NumberFormatter getNumberFormatter(@Nullable CommandSender sender) {
+        Language language = getLanguage(sender);
+        if (language == null) {
+            return NumberFormatter.getDefault();
+        }
+
+        return language.getNumberFormatter();
+    }
 }
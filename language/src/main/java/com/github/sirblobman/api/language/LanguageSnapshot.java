@@ -0,0 +1,288 @@
+package com.github.sirblobman.api.language;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable view of every language available to a {@link LanguageManager}.
+ * Changes are made to a {@link Builder} and published as a new snapshot in a single write,
+ * so readers never see a partial state.
+ * <p>
+ * Pinned languages are loaded before the snapshot is published and are never evicted.
+ * Other languages are loaded on first use and evicted by least recent use once there are more than
+ * {@link #getMaxLoadedLanguages()} of them, unless they are still in use or are the parent of a loaded language.
+ */
+final class LanguageSnapshot {
+    static final LanguageSnapshot EMPTY = new Builder(Collections.emptyMap(), false, 0).build(Collections.emptySet());
+
+    private final Map<String, File> languageFileMap;
+    private final Map<String, Language> pinnedLanguageMap;
+    private final Map<String, LoadedLanguage> loadedLanguageMap;
+    private final Set<String> failedLanguageSet;
+    private final boolean lazy;
+    private final int maxLoadedLanguages;
+    private final Language defaultLanguage;
+    private final Language consoleLanguage;
+
+    private LanguageSnapshot(@NotNull Builder builder) {
+        this.languageFileMap = builder.languageFileMap;
+        this.pinnedLanguageMap = Collections.unmodifiableMap(new HashMap<>(builder.pinnedLanguageMap));
+        this.loadedLanguageMap = Collections.unmodifiableMap(new HashMap<>(builder.loadedLanguageMap));
+        this.failedLanguageSet = Collections.unmodifiableSet(new HashSet<>(builder.failedLanguageSet));
+        this.lazy = builder.lazy;
+        this.maxLoadedLanguages = builder.maxLoadedLanguages;
+        this.defaultLanguage = builder.defaultLanguage;
+        this.consoleLanguage = builder.consoleLanguage;
+    }
+
+    /**
+     * @return A new builder that starts with the same languages as this snapshot.
+     */
+    @NotNull Builder toBuilder() {
+        Builder builder = new Builder(this.languageFileMap, this.lazy, this.maxLoadedLanguages);
+        builder.pinnedLanguageMap.putAll(this.pinnedLanguageMap);
+        builder.loadedLanguageMap.putAll(this.loadedLanguageMap);
+        builder.failedLanguageSet.addAll(this.failedLanguageSet);
+        builder.defaultLanguage = this.defaultLanguage;
+        builder.consoleLanguage = this.consoleLanguage;
+        return builder;
+    }
+
+    /**
+     * @return {@code true} if languages other than the pinned languages are loaded on first use.
+     */
+    boolean isLazy() {
+        return this.lazy;
+    }
+
+    /**
+     * @return A new unmodifiable map of every language that is currently loaded.
+     */
+    @NotNull Map<String, Language> getLanguageMap() {
+        return getLanguageMap(this.pinnedLanguageMap, this.loadedLanguageMap);
+    }
+
+    @Nullable Language getLanguage(@NotNull String languageName) {
+        return getLanguage(this.pinnedLanguageMap, this.loadedLanguageMap, languageName);
+    }
+
+    boolean isPinned(@NotNull String languageName) {
+        return this.pinnedLanguageMap.containsKey(languageName);
+    }
+
+    @Nullable File getLanguageFile(@NotNull String languageName) {
+        return this.languageFileMap.get(languageName);
+    }
+
+    boolean isAvailable(@NotNull String languageName) {
+        return (this.languageFileMap.containsKey(languageName) && !this.failedLanguageSet.contains(languageName));
+    }
+
+    @Nullable Language getDefaultLanguage() {
+        return this.defaultLanguage;
+    }
+
+    @Nullable Language getConsoleLanguage() {
+        return this.consoleLanguage;
+    }
+
+    int getMaxLoadedLanguages() {
+        return this.maxLoadedLanguages;
+    }
+
+    int getAvailableLanguageCount() {
+        return this.languageFileMap.size();
+    }
+
+    int getLoadedLanguageCount() {
+        return (this.pinnedLanguageMap.size() + this.loadedLanguageMap.size());
+    }
+
+    private static @NotNull Map<String, Language> getLanguageMap(@NotNull Map<String, Language> pinnedLanguageMap,
+                                                                 @NotNull Map<String, LoadedLanguage> loadedMap) {
+        Map<String, Language> languageMap = new HashMap<>(pinnedLanguageMap);
+        for (LoadedLanguage loadedLanguage : loadedMap.values()) {
+            Language language = loadedLanguage.language;
+            languageMap.put(language.getLanguageName(), language);
+        }
+
+        return Collections.unmodifiableMap(languageMap);
+    }
+
+    private static @Nullable Language getLanguage(@NotNull Map<String, Language> pinnedLanguageMap,
+                                                  @NotNull Map<String, LoadedLanguage> loadedMap,
+                                                  @NotNull String languageName) {
+        Language pinnedLanguage = pinnedLanguageMap.get(languageName);
+        if (pinnedLanguage != null) {
+            return pinnedLanguage;
+        }
+
+        LoadedLanguage loadedLanguage = loadedMap.get(languageName);
+        if (loadedLanguage == null) {
+            return null;
+        }
+
+        loadedLanguage.lastAccess = System.nanoTime();
+        return loadedLanguage.language;
+    }
+
+    /**
+     * A mutable set of languages that is only used by the thread that builds the next snapshot.
+     */
+    static final class Builder {
+        private final Map<String, File> languageFileMap;
+        private final Map<String, Language> pinnedLanguageMap;
+        private final Map<String, LoadedLanguage> loadedLanguageMap;
+        private final Set<String> failedLanguageSet;
+        private final boolean lazy;
+        private final int maxLoadedLanguages;
+
+        private Language defaultLanguage;
+        private Language consoleLanguage;
+
+        Builder(@NotNull Map<String, File> languageFileMap, boolean lazy, int maxLoadedLanguages) {
+            this.languageFileMap = Collections.unmodifiableMap(languageFileMap);
+            this.pinnedLanguageMap = new HashMap<>();
+            this.loadedLanguageMap = new HashMap<>();
+            this.failedLanguageSet = new HashSet<>();
+            this.lazy = lazy;
+            this.maxLoadedLanguages = maxLoadedLanguages;
+        }
+
+        @NotNull Map<String, Language> getLanguageMap() {
+            return LanguageSnapshot.getLanguageMap(this.pinnedLanguageMap, this.loadedLanguageMap);
+        }
+
+        @Nullable Language getLanguage(@NotNull String languageName) {
+            return LanguageSnapshot.getLanguage(this.pinnedLanguageMap, this.loadedLanguageMap, languageName);
+        }
+
+        boolean isPinned(@NotNull String languageName) {
+            return this.pinnedLanguageMap.containsKey(languageName);
+        }
+
+        @Nullable File getLanguageFile(@NotNull String languageName) {
+            return this.languageFileMap.get(languageName);
+        }
+
+        boolean isAvailable(@NotNull String languageName) {
+            return (this.languageFileMap.containsKey(languageName)
+                    && !this.failedLanguageSet.contains(languageName));
+        }
+
+        void markFailed(@NotNull String languageName) {
+            this.failedLanguageSet.add(languageName);
+        }
+
+        void addLanguage(@NotNull Language language, boolean pinned) {
+            String languageName = language.getLanguageName();
+            if (pinned) {
+                this.loadedLanguageMap.remove(languageName);
+                this.pinnedLanguageMap.put(languageName, language);
+                return;
+            }
+
+            this.loadedLanguageMap.put(languageName, new LoadedLanguage(language));
+        }
+
+        @Nullable Language getDefaultLanguage() {
+            return this.defaultLanguage;
+        }
+
+        void setDefaultLanguage(@Nullable Language defaultLanguage) {
+            this.defaultLanguage = defaultLanguage;
+        }
+
+        @Nullable Language getConsoleLanguage() {
+            return this.consoleLanguage;
+        }
+
+        void setConsoleLanguage(@Nullable Language consoleLanguage) {
+            this.consoleLanguage = consoleLanguage;
+        }
+
+        /**
+         * @param inUseSet The names of languages that must not be evicted, such as the locales of online players.
+         * @return A new snapshot, after the least recently used languages over the limit are removed.
+         */
+        @NotNull LanguageSnapshot build(@NotNull Set<String> inUseSet) {
+            while (this.maxLoadedLanguages > 0 && this.loadedLanguageMap.size() > this.maxLoadedLanguages) {
+                if (!evictLeastRecentlyUsed(inUseSet)) {
+                    break;
+                }
+            }
+
+            return new LanguageSnapshot(this);
+        }
+
+        private boolean evictLeastRecentlyUsed(@NotNull Set<String> inUseSet) {
+            Set<String> parentSet = getParentNames();
+            String eldestName = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<String, LoadedLanguage> entry : this.loadedLanguageMap.entrySet()) {
+                String languageName = entry.getKey();
+                if (inUseSet.contains(languageName) || parentSet.contains(languageName)) {
+                    continue;
+                }
+
+                long lastAccess = entry.getValue().lastAccess;
+                if (eldestName == null || lastAccess - eldestAccess < 0) {
+                    eldestName = languageName;
+                    eldestAccess = lastAccess;
+                }
+            }
+
+            if (eldestName == null) {
+                return false;
+            }
+
+            this.loadedLanguageMap.remove(eldestName);
+            return true;
+        }
+
+        /**
+         * @return The names of the loaded languages that another loaded language inherits from.
+         */
+        private @NotNull Set<String> getParentNames() {
+            Map<LanguageConfiguration, String> nameMap = new IdentityHashMap<>();
+            for (Language language : getLanguageMap().values()) {
+                nameMap.put(language.getConfiguration(), language.getLanguageName());
+            }
+
+            Set<String> parentSet = new HashSet<>();
+            for (LanguageConfiguration configuration : nameMap.keySet()) {
+                Optional<LanguageConfiguration> optionalParent = configuration.getParent();
+                if (optionalParent.isPresent()) {
+                    String parentName = nameMap.get(optionalParent.get());
+                    if (parentName != null) {
+                        parentSet.add(parentName);
+                    }
+                }
+            }
+
+            return parentSet;
+        }
+    }
+
+    /**
+     * A loaded language and the time it was last used. The time is shared by every snapshot that has the language.
+     */
+    private static final class LoadedLanguage {
+        private final Language language;
+        private volatile long lastAccess;
+
+        private LoadedLanguage(@NotNull Language language) {
+            this.language = language;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.github.sirblobman.api.language;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * A flat, read-only view of a language file.
+ * Every path of the original YAML tree is stored as a single key, string lists are joined with new lines
+ * and remembered as lists, and all keys and strings are interned because the same keys are repeated
+ * in every language.
+ * A table that is merged with its parent resolves a path with a single lookup.
+ */
+final class LanguageTable {
+    static final LanguageTable EMPTY = new LanguageTable(Collections.emptyMap(), Collections.emptySet());
+
+    /**
+     * The value stored for paths that are configuration sections.
+     */
+    private static final Object SECTION = new Object();
+
+    private static final byte TYPE_SECTION = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_DOUBLE = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_LIST = 5;
+
+    private final Map<String, Object> valueMap;
+    private final Set<String> listPathSet;
+
+    private LanguageTable(@NotNull Map<String, Object> valueMap, @NotNull Set<String> listPathSet) {
+        this.valueMap = valueMap;
+        this.listPathSet = listPathSet;
+    }
+
+    /**
+     * Flatten a configuration section into a table.
+     *
+     * @param section The section to flatten, usually a full language file.
+     * @return A new table with every path in the section.
+     */
+    static @NotNull LanguageTable flatten(@NotNull ConfigurationSection section) {
+        Set<String> pathSet = section.getKeys(true);
+        Map<String, Object> valueMap = new HashMap<>(pathSet.size() * 4 / 3 + 1);
+        Set<String> listPathSet = new HashSet<>();
+
+        for (String path : pathSet) {
+            Object value;
+            if (section.isConfigurationSection(path)) {
+                value = SECTION;
+            } else if (section.isList(path)) {
+                List<String> valueList = section.getStringList(path);
+                value = String.join("\n", valueList).intern();
+                listPathSet.add(path.intern());
+            } else {
+                value = section.get(path);
+                if (value instanceof String) {
+                    value = ((String) value).intern();
+                }
+            }
+
+            if (value != null) {
+                valueMap.put(path.intern(), value);
+            }
+        }
+
+        return new LanguageTable(valueMap, listPathSet);
+    }
+
+    /**
+     * Merge a table with its parent. Values in the child table replace values in the parent table.
+     *
+     * @param parent The parent table.
+     * @param child  The child table.
+     * @return A new table with the paths of both tables.
+     */
+    static @NotNull LanguageTable merge(@NotNull LanguageTable parent, @NotNull LanguageTable child) {
+        Map<String, Object> valueMap = new HashMap<>(parent.valueMap);
+        valueMap.putAll(child.valueMap);
+
+        Set<String> listPathSet = new HashSet<>(parent.listPathSet);
+        listPathSet.removeAll(child.valueMap.keySet());
+        listPathSet.addAll(child.listPathSet);
+        return new LanguageTable(valueMap, listPathSet);
+    }
+
+    /**
+     * Write this table in the binary language cache format.
+     *
+     * @param output The stream to write to.
+     * @throws IOException when the stream can't be written.
+     * @see #read(ByteBuffer)
+     */
+    void write(@NotNull DataOutputStream output) throws IOException {
+        output.writeInt(this.valueMap.size());
+        for (Map.Entry<String, Object> entry : this.valueMap.entrySet()) {
+            writeString(output, entry.getKey());
+
+            String path = entry.getKey();
+            Object value = entry.getValue();
+            if (value == SECTION) {
+                output.writeByte(TYPE_SECTION);
+            } else if (this.listPathSet.contains(path)) {
+                output.writeByte(TYPE_LIST);
+                writeString(output, value.toString());
+            } else if (value instanceof Boolean) {
+                output.writeByte(TYPE_BOOLEAN);
+                output.writeBoolean((Boolean) value);
+            } else if (value instanceof Double || value instanceof Float) {
+                output.writeByte(TYPE_DOUBLE);
+                output.writeDouble(((Number) value).doubleValue());
+            } else if (value instanceof Number) {
+                output.writeByte(TYPE_LONG);
+                output.writeLong(((Number) value).longValue());
+            } else {
+                output.writeByte(TYPE_STRING);
+                writeString(output, value.toString());
+            }
+        }
+    }
+
+    /**
+     * Read a table in the binary language cache format.
+     *
+     * @param buffer The buffer to read from.
+     * @return The table that was read.
+     * @throws IOException when the buffer does not contain a valid table.
+     * @see #write(DataOutputStream)
+     */
+    static @NotNull LanguageTable read(@NotNull ByteBuffer buffer) throws IOException {
+        int size = buffer.getInt();
+        if (size < 0 || size > (buffer.remaining() / 5)) {
+            throw new IOException("Invalid table size: " + size);
+        }
+
+        Map<String, Object> valueMap = new HashMap<>(size * 4 / 3 + 1);
+        Set<String> listPathSet = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            String path = readString(buffer);
+            byte type = buffer.get();
+
+            Object value;
+            switch (type) {
+                case TYPE_SECTION:
+                    value = SECTION;
+                    break;
+                case TYPE_STRING:
+                    value = readString(buffer);
+                    break;
+                case TYPE_LIST:
+                    value = readString(buffer);
+                    listPathSet.add(path);
+                    break;
+                case TYPE_LONG:
+                    value = buffer.getLong();
+                    break;
+                case TYPE_DOUBLE:
+                    value = buffer.getDouble();
+                    break;
+                case TYPE_BOOLEAN:
+                    value = (buffer.get() != 0);
+                    break;
+                default:
+                    throw new IOException("Invalid value type: " + type);
+            }
+
+            valueMap.put(path, value);
+        }
+
+        return new LanguageTable(valueMap, listPathSet);
+    }
+
+    private static void writeString(@NotNull DataOutputStream output, @NotNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid string length: " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8).intern();
+    }
+
+    /**
+     * @return An unmodifiable map of every path in this table. Section paths are not included.
+     */
+    @NotNull Map<String, Object> getValues() {
+        Map<String, Object> valueMap = new HashMap<>();
+        for (Map.Entry<String, Object> entry : this.valueMap.entrySet()) {
+            Object value = entry.getValue();
+            if (value != SECTION) {
+                valueMap.put(entry.getKey(), value);
+            }
+        }
+
+        return Collections.unmodifiableMap(valueMap);
+    }
+
+    /**
+     * @return An unmodifiable set of every path in this table, including section paths.
+     */
+    @NotNull Set<String> getPaths() {
+        return Collections.unmodifiableSet(this.valueMap.keySet());
+    }
+
+    boolean isString(@NotNull String path) {
+        return (this.valueMap.get(path) instanceof String);
+    }
+
+    /**
+     * @param path The path to check.
+     * @return {@code true} if the value of the path was a string list in the language file.
+     */
+    boolean isList(@NotNull String path) {
+        return this.listPathSet.contains(path);
+    }
+
+    /**
+     * @param path The path of a string list.
+     * @return A new list with the lines of the value, or an empty list if the path does not have a value.
+     */
+    @NotNull List<String> getStringList(@NotNull String path) {
+        String value = getString(path);
+        if (value == null || value.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return new ArrayList<>(Arrays.asList(value.split("\n", -1)));
+    }
+
+    boolean isSection(@NotNull String path) {
+        return (this.valueMap.get(path) == SECTION);
+    }
+
+    @Nullable String getString(@NotNull String path) {
+        Object value = this.valueMap.get(path);
+        if (value == null || value == SECTION) {
+            return null;
+        }
+
+        if (value instanceof String) {
+            return (String) value;
+        }
+
+        return value.toString();
+    }
+
+    @NotNull String getString(@NotNull String path, @NotNull String defaultValue) {
+        String value = getString(path);
+        return (value == null ? defaultValue : value);
+    }
+
+    int getInt(@NotNull String path, int defaultValue) {
+        Object value = this.valueMap.get(path);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+
+        return defaultValue;
+    }
+
+    double getDouble(@NotNull String path, double defaultValue) {
+        Object value = this.valueMap.get(path);
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+
+        return defaultValue;
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.sirblobman.api.language;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A resolved handle for a language message path.
+ * Each key has a dense index that the {@link LanguageConfiguration} instances of its {@link LanguageManager}
+ * use to find the cached message with array indexing instead of a map lookup.
+ * Keys should be resolved once with {@link LanguageManager#getMessageKey(String)} and stored in a field.
+ */
+public final class MessageKey {
+    private final MessageKeyRegistry registry;
+    private final String path;
+    private final int index;
+
+    MessageKey(@NotNull MessageKeyRegistry registry, @NotNull String path, int index) {
+        this.registry = registry;
+        this.path = path;
+        this.index = index;
+    }
+
+    /**
+     * @return The message path of this key.
+     */
+    public @NotNull String getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return The registry that created this key.
+     */
+    @NotNull MessageKeyRegistry getRegistry() {
+        return this.registry;
+    }
+
+    /**
+     * @return The dense index of this key in its registry.
+     */
+    int getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return this.path;
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.sirblobman.api.language;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.sirblobman.api.utility.Validate;
+
+/**
+ * The message keys of a single {@link LanguageManager}.
+ * Indices are dense within one registry, so the caches of a manager only grow with the keys it uses,
+ * and every key is released together with its manager.
+ */
+final class MessageKeyRegistry {
+    private final Map<String, MessageKey> keyMap;
+    private final AtomicInteger nextIndex;
+
+    MessageKeyRegistry() {
+        this.keyMap = new ConcurrentHashMap<>();
+        this.nextIndex = new AtomicInteger(0);
+    }
+
+    /**
+     * Get the key for a message path, creating it when the path is used for the first time.
+     *
+     * @param path The message path.
+     * @return The key for the path in this registry.
+     */
+    @NotNull MessageKey get(@NotNull String path) {
+        MessageKey key = this.keyMap.get(path);
+        if (key != null) {
+            return key;
+        }
+
+        Validate.notEmpty(path, "path must not be empty!");
+        return this.keyMap.computeIfAbsent(path, newPath -> new MessageKey(this, newPath,
+                this.nextIndex.getAndIncrement()));
+    }
+
+    /**
+     * @param key A message key from any registry.
+     * @return The index of the key in this registry. Keys from other registries are resolved by path.
+     */
+    int getIndex(@NotNull MessageKey key) {
+        if (key.getRegistry() == this) {
+            return key.getIndex();
+        }
+
+        String path = key.getPath();
+        MessageKey localKey = get(path);
+        return localKey.getIndex();
+    }
+}
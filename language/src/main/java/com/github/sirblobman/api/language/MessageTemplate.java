@@ -0,0 +1,403 @@
+package com.github.sirblobman.api.language;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.github.sirblobman.api.language.replacer.Replacer;
+import com.github.sirblobman.api.shaded.adventure.text.Component;
+import com.github.sirblobman.api.shaded.adventure.text.TextComponent;
+import com.github.sirblobman.api.shaded.adventure.text.TranslatableComponent;
+import com.github.sirblobman.api.shaded.adventure.text.event.HoverEvent;
+
+/**
+ * A message component that was scanned once for {@code {placeholder}} tokens.
+ * Rendering a template applies every {@link Replacer} in a single walk of the component tree.
+ */
+public final class MessageTemplate {
+    private static final int MAX_EXPANDED_TEMPLATES = 64;
+
+    private final Component message;
+    private final Node root;
+    private final Set<String> placeholderSet;
+    private final boolean legacy;
+    private final boolean placeholderAPI;
+    private final Map<Component, MessageTemplate> expandedTemplateMap;
+
+    private MessageTemplate(@NotNull Component message, @Nullable Node root, @NotNull Set<String> placeholderSet,
+                            boolean legacy) {
+        this.message = message;
+        this.root = root;
+        this.placeholderSet = placeholderSet;
+        this.legacy = legacy;
+        this.placeholderAPI = containsPlaceholderAPI(message);
+        this.expandedTemplateMap = (this.placeholderAPI ? createExpandedTemplateMap() : null);
+    }
+
+    /**
+     * Scan a component for placeholders and create a template for it.
+     *
+     * @param message The original component.
+     * @return A template that can render the component with replacers.
+     */
+    public static @NotNull MessageTemplate compile(@NotNull Component message) {
+        if (containsTranslatable(message)) {
+            return new MessageTemplate(message, null, Collections.emptySet(), true);
+        }
+
+        Set<String> placeholderSet = new HashSet<>();
+        Node root = compile(message, placeholderSet);
+        if (root == null) {
+            return new MessageTemplate(message, null, Collections.emptySet(), false);
+        }
+
+        return new MessageTemplate(message, root, Collections.unmodifiableSet(placeholderSet), false);
+    }
+
+    /**
+     * @param target The target of a replacer.
+     * @return {@code true} if the target looks like a {@code {placeholder}} token, otherwise {@code false}.
+     */
+    public static boolean isPlaceholder(@NotNull String target) {
+        int lastIndex = (target.length() - 1);
+        if (lastIndex < 2 || target.charAt(0) != '{' || target.charAt(lastIndex) != '}') {
+            return false;
+        }
+
+        return (target.indexOf('{', 1) < 0 && target.indexOf('}') == lastIndex);
+    }
+
+    /**
+     * @return The original component that this template was compiled from.
+     */
+    public @NotNull Component getMessage() {
+        return this.message;
+    }
+
+    /**
+     * @return An unmodifiable set of the {@code {placeholder}} tokens found in this template.
+     */
+    public @NotNull Set<String> getPlaceholders() {
+        return this.placeholderSet;
+    }
+
+    /**
+     * @return {@code true} if a text component in this template contains at least two {@code %} symbols
+     * and may have PlaceholderAPI placeholders, otherwise {@code false}.
+     */
+    public boolean hasPlaceholderAPI() {
+        return this.placeholderAPI;
+    }
+
+    /**
+     * Get the template for this message after its PlaceholderAPI placeholders were replaced.
+     * The last few results are cached, so a placeholder that keeps the same value is not compiled on every send.
+     *
+     * @param expanded The message of this template with PlaceholderAPI placeholders replaced.
+     * @return A template for the expanded message.
+     */
+    @NotNull MessageTemplate getExpandedTemplate(@NotNull Component expanded) {
+        if (expanded == this.message) {
+            return this;
+        }
+
+        Map<Component, MessageTemplate> expandedTemplateMap = this.expandedTemplateMap;
+        if (expandedTemplateMap == null) {
+            return compile(expanded);
+        }
+
+        synchronized (expandedTemplateMap) {
+            MessageTemplate cached = expandedTemplateMap.get(expanded);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        MessageTemplate template = compile(expanded);
+        synchronized (expandedTemplateMap) {
+            expandedTemplateMap.put(expanded, template);
+        }
+
+        return template;
+    }
+
+    /**
+     * Apply replacers to this template.
+     * Replacers with a target that is not a {@code {placeholder}} token are applied with
+     * {@link Replacer#asReplacementConfig()} after the template is rendered.
+     *
+     * @param replacerArray The replacers to apply.
+     * @return A component with all replacements applied.
+     */
+    public @NotNull Component render(Replacer @NotNull ... replacerArray) {
+        Component message = getMessage();
+        if (replacerArray.length == 0) {
+            return message;
+        }
+
+        if (this.legacy) {
+            for (Replacer replacer : replacerArray) {
+                message = message.replaceText(replacer.asReplacementConfig());
+            }
+
+            return message;
+        }
+
+        if (this.root != null && isAnyPresent(replacerArray)) {
+            Component[] replacementArray = new Component[replacerArray.length];
+            message = render(this.root, replacerArray, replacementArray);
+        }
+
+        for (Replacer replacer : replacerArray) {
+            String target = replacer.getTarget();
+            if (!isPlaceholder(target)) {
+                message = message.replaceText(replacer.asReplacementConfig());
+            }
+        }
+
+        return message;
+    }
+
+    private boolean isAnyPresent(Replacer @NotNull [] replacerArray) {
+        for (Replacer replacer : replacerArray) {
+            String target = replacer.getTarget();
+            if (this.placeholderSet.contains(target)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static @NotNull Component render(@NotNull Node node, Replacer @NotNull [] replacerArray,
+                                             Component @NotNull [] replacementArray) {
+        Component component = node.component;
+        List<Component> children = component.children();
+        String[] segments = node.segments;
+
+        int extraSize = (segments == null ? 0 : segments.length);
+        List<Component> newChildren = new ArrayList<>(children.size() + extraSize);
+
+        if (segments != null) {
+            TextComponent textComponent = (TextComponent) component;
+            component = textComponent.content(segments[0]);
+
+            for (int i = 1; i < segments.length; i += 2) {
+                Component replacement = getReplacement(segments[i], replacerArray, replacementArray);
+                newChildren.add(replacement);
+
+                String literal = segments[i + 1];
+                if (!literal.isEmpty()) {
+                    newChildren.add(Component.text(literal));
+                }
+            }
+        }
+
+        Node[] childNodes = node.children;
+        for (int i = 0; i < children.size(); i++) {
+            Node childNode = (childNodes == null ? null : childNodes[i]);
+            if (childNode == null) {
+                newChildren.add(children.get(i));
+            } else {
+                newChildren.add(render(childNode, replacerArray, replacementArray));
+            }
+        }
+
+        component = component.children(newChildren);
+        if (node.hover != null) {
+            Component hoverText = render(node.hover, replacerArray, replacementArray);
+            component = component.hoverEvent(HoverEvent.showText(hoverText));
+        }
+
+        return component;
+    }
+
+    private static @NotNull Component getReplacement(@NotNull String placeholder, Replacer @NotNull [] replacerArray,
+                                                     Component @NotNull [] replacementArray) {
+        for (int i = 0; i < replacerArray.length; i++) {
+            Replacer replacer = replacerArray[i];
+            if (!placeholder.equals(replacer.getTarget())) {
+                continue;
+            }
+
+            Component replacement = replacementArray[i];
+            if (replacement == null) {
+                replacement = replacer.getReplacement();
+                replacementArray[i] = replacement;
+            }
+
+            return replacement;
+        }
+
+        return Component.text(placeholder);
+    }
+
+    private static @Nullable Node compile(@NotNull Component component, @NotNull Set<String> placeholderSet) {
+        String[] segments = null;
+        if (component instanceof TextComponent) {
+            String content = ((TextComponent) component).content();
+            segments = split(content, placeholderSet);
+        }
+
+        Node hover = null;
+        HoverEvent<?> hoverEvent = component.hoverEvent();
+        if (hoverEvent != null && hoverEvent.action() == HoverEvent.Action.SHOW_TEXT) {
+            Component hoverText = (Component) hoverEvent.value();
+            hover = compile(hoverText, placeholderSet);
+        }
+
+        Node[] childNodes = null;
+        List<Component> children = component.children();
+        for (int i = 0; i < children.size(); i++) {
+            Node childNode = compile(children.get(i), placeholderSet);
+            if (childNode == null) {
+                continue;
+            }
+
+            if (childNodes == null) {
+                childNodes = new Node[children.size()];
+            }
+
+            childNodes[i] = childNode;
+        }
+
+        if (segments == null && hover == null && childNodes == null) {
+            return null;
+        }
+
+        return new Node(component, segments, childNodes, hover);
+    }
+
+    /**
+     * Split text content into alternating literal and placeholder segments.
+     * The returned array always starts and ends with a literal, which may be empty.
+     *
+     * @return The segments, or {@code null} if the content has no placeholders.
+     */
+    private static String @Nullable [] split(@NotNull String content, @NotNull Set<String> placeholderSet) {
+        List<String> segmentList = null;
+        int literalStart = 0;
+        int searchIndex = 0;
+
+        while (true) {
+            int openIndex = content.indexOf('{', searchIndex);
+            if (openIndex < 0) {
+                break;
+            }
+
+            int closeIndex = content.indexOf('}', openIndex + 1);
+            if (closeIndex < 0) {
+                break;
+            }
+
+            int nextOpenIndex = content.indexOf('{', openIndex + 1);
+            if (nextOpenIndex >= 0 && nextOpenIndex < closeIndex) {
+                searchIndex = nextOpenIndex;
+                continue;
+            }
+
+            if (closeIndex == openIndex + 1) {
+                searchIndex = closeIndex + 1;
+                continue;
+            }
+
+            if (segmentList == null) {
+                segmentList = new ArrayList<>();
+            }
+
+            String placeholder = content.substring(openIndex, closeIndex + 1);
+            segmentList.add(content.substring(literalStart, openIndex));
+            segmentList.add(placeholder);
+            placeholderSet.add(placeholder);
+
+            literalStart = (closeIndex + 1);
+            searchIndex = literalStart;
+        }
+
+        if (segmentList == null) {
+            return null;
+        }
+
+        segmentList.add(content.substring(literalStart));
+        return segmentList.toArray(new String[0]);
+    }
+
+    private static @NotNull Map<Component, MessageTemplate> createExpandedTemplateMap() {
+        return new LinkedHashMap<Component, MessageTemplate>(MAX_EXPANDED_TEMPLATES, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Component, MessageTemplate> eldest) {
+                return (size() > MAX_EXPANDED_TEMPLATES);
+            }
+        };
+    }
+
+    private static boolean containsPlaceholderAPI(@NotNull Component component) {
+        if (component instanceof TextComponent) {
+            String content = ((TextComponent) component).content();
+            int firstIndex = content.indexOf('%');
+            if (firstIndex >= 0 && content.indexOf('%', firstIndex + 1) > firstIndex) {
+                return true;
+            }
+        }
+
+        HoverEvent<?> hoverEvent = component.hoverEvent();
+        if (hoverEvent != null && hoverEvent.action() == HoverEvent.Action.SHOW_TEXT) {
+            Component hoverText = (Component) hoverEvent.value();
+            if (containsPlaceholderAPI(hoverText)) {
+                return true;
+            }
+        }
+
+        for (Component child : component.children()) {
+            if (containsPlaceholderAPI(child)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean containsTranslatable(@NotNull Component component) {
+        if (component instanceof TranslatableComponent) {
+            return true;
+        }
+
+        HoverEvent<?> hoverEvent = component.hoverEvent();
+        if (hoverEvent != null && hoverEvent.action() == HoverEvent.Action.SHOW_TEXT) {
+            Component hoverText = (Component) hoverEvent.value();
+            if (containsTranslatable(hoverText)) {
+                return true;
+            }
+        }
+
+        for (Component child : component.children()) {
+            if (containsTranslatable(child)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static final class Node {
+        private final Component component;
+        private final String[] segments;
+        private final Node[] children;
+        private final Node hover;
+
+        private Node(@NotNull Component component, String @Nullable [] segments, Node @Nullable [] children,
+                     @Nullable Node hover) {
+            this.component = component;
+            this.segments = segments;
+            this.children = children;
+            this.hover = hover;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.sirblobman.api.language;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A thread-safe number formatter for a language.
+ * Whole numbers are formatted without a {@link DecimalFormat}, using the grouping of the decimal pattern and
+ * the symbols of the locale, unless the pattern has a prefix, suffix, exponent, or other option that only
+ * a format applies.
+ * Decimal numbers use one {@link DecimalFormat} per thread, so no format is shared or cloned when a message is sent.
+ */
+public final class NumberFormatter {
+    private static final String DEFAULT_PATTERN = "0.00";
+    private static final NumberFormatter DEFAULT = new NumberFormatter(Locale.US, DEFAULT_PATTERN);
+    private static final int MAX_CACHE_SIZE = 64;
+    private static final Map<List<Object>, NumberFormatter> FORMAT_CACHE = new ConcurrentHashMap<>();
+
+    private final Locale locale;
+    private final String pattern;
+    private final DecimalFormatSymbols symbols;
+    private final int groupingSize;
+    private final char groupingSeparator;
+    private final char zeroDigit;
+    private final char minusSign;
+    private final boolean simpleWholeNumbers;
+    private final ThreadLocal<DecimalFormat> decimalFormat;
+    private final ThreadLocal<DecimalFormat> wholeFormat;
+
+    /**
+     * @param locale  The locale that provides the digits and separators.
+     * @param pattern The {@link DecimalFormat} pattern used for decimal numbers.
+     * @throws IllegalArgumentException when the pattern is not valid.
+     */
+    public NumberFormatter(@NotNull Locale locale, @NotNull String pattern) {
+        this(locale, pattern, new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale)));
+    }
+
+    private NumberFormatter(@NotNull Locale locale, @NotNull String pattern, @NotNull DecimalFormat template) {
+        this.locale = locale;
+        this.pattern = pattern;
+        this.symbols = template.getDecimalFormatSymbols();
+
+        this.groupingSize = (template.isGroupingUsed() ? template.getGroupingSize() : 0);
+        this.groupingSeparator = this.symbols.getGroupingSeparator();
+        this.zeroDigit = this.symbols.getZeroDigit();
+        this.minusSign = this.symbols.getMinusSign();
+        this.decimalFormat = ThreadLocal.withInitial(() -> (DecimalFormat) template.clone());
+
+        String minusString = String.valueOf(this.minusSign);
+        String templatePattern = template.toPattern();
+        boolean scientific = (templatePattern.indexOf('E') >= 0);
+        this.simpleWholeNumbers = (template.getPositivePrefix().isEmpty() && template.getPositiveSuffix().isEmpty()
+                && template.getNegativePrefix().equals(minusString) && template.getNegativeSuffix().isEmpty()
+                && template.getMultiplier() == 1 && template.getMinimumIntegerDigits() <= 1 && !scientific);
+
+        DecimalFormat wholeTemplate = (DecimalFormat) template.clone();
+        wholeTemplate.setMinimumFractionDigits(0);
+        wholeTemplate.setMaximumFractionDigits(0);
+        wholeTemplate.setDecimalSeparatorAlwaysShown(false);
+        this.wholeFormat = ThreadLocal.withInitial(() -> (DecimalFormat) wholeTemplate.clone());
+    }
+
+    /**
+     * @return A formatter for {@link Locale#US} with the pattern {@code 0.00}.
+     */
+    public static @NotNull NumberFormatter getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get a formatter that uses a copy of a format with different symbols.
+     * Formatters are cached, so the format is only copied the first time a pattern and symbols are used.
+     * The locale of the formatter is {@link Locale#ROOT}.
+     *
+     * @param format  The format that provides the pattern and rounding mode.
+     * @param symbols The symbols to use instead of the symbols of the format.
+     * @return A formatter for the format and symbols.
+     */
+    public static @NotNull NumberFormatter of(@NotNull DecimalFormat format, @NotNull DecimalFormatSymbols symbols) {
+        String pattern = format.toPattern();
+        List<Object> key = Arrays.asList(pattern, format.getRoundingMode(), format.getMultiplier(), symbols);
+        NumberFormatter cached = FORMAT_CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        DecimalFormat template = (DecimalFormat) format.clone();
+        template.setDecimalFormatSymbols(symbols);
+        NumberFormatter formatter = new NumberFormatter(Locale.ROOT, pattern, template);
+
+        if (FORMAT_CACHE.size() >= MAX_CACHE_SIZE) {
+            FORMAT_CACHE.clear();
+        }
+
+        DecimalFormatSymbols symbolsCopy = (DecimalFormatSymbols) symbols.clone();
+        List<Object> keyCopy = Arrays.asList(pattern, format.getRoundingMode(), format.getMultiplier(), symbolsCopy);
+        FORMAT_CACHE.put(keyCopy, formatter);
+        return formatter;
+    }
+
+    public @NotNull Locale getLocale() {
+        return this.locale;
+    }
+
+    public @NotNull String getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * @return A copy of the symbols used by this formatter.
+     */
+    public @NotNull DecimalFormatSymbols getSymbols() {
+        return (DecimalFormatSymbols) this.symbols.clone();
+    }
+
+    /**
+     * Format a whole number. Fraction digits from the pattern are not added.
+     *
+     * @param value The number to format.
+     * @return The formatted number.
+     */
+    public @NotNull String format(long value) {
+        if (!this.simpleWholeNumbers) {
+            DecimalFormat wholeFormat = this.wholeFormat.get();
+            return wholeFormat.format(value);
+        }
+
+        String digits = Long.toString(value);
+        boolean negative = (value < 0L);
+        if (this.groupingSize <= 0 && this.zeroDigit == '0' && (!negative || this.minusSign == '-')) {
+            return digits;
+        }
+
+        int start = (negative ? 1 : 0);
+        int digitCount = (digits.length() - start);
+        StringBuilder builder = new StringBuilder(digits.length() + digitCount / 3 + 1);
+        if (negative) {
+            builder.append(this.minusSign);
+        }
+
+        for (int i = start; i < digits.length(); i++) {
+            int remaining = (digits.length() - i);
+            if (i > start && this.groupingSize > 0 && remaining % this.groupingSize == 0) {
+                builder.append(this.groupingSeparator);
+            }
+
+            char digit = digits.charAt(i);
+            builder.append((char) (this.zeroDigit + (digit - '0')));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Format a decimal number with the pattern of this formatter.
+     *
+     * @param value The number to format.
+     * @return The formatted number.
+     */
+    public @NotNull String format(double value) {
+        DecimalFormat decimalFormat = this.decimalFormat.get();
+        return decimalFormat.format(value);
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.sirblobman.api.language;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A short-lived cache of resolved PlaceholderAPI placeholders for each player.
+ * Every player has one generation of values that is discarded after the expiration time,
+ * so a placeholder used by many messages in the same tick is only resolved once.
+ *
+ * @param <V> The type of resolved value.
+ */
+final class PlaceholderCache<V> {
+    private final Map<UUID, Generation<V>> generationMap;
+    private volatile long expireNanos;
+
+    PlaceholderCache() {
+        this.generationMap = new ConcurrentHashMap<>();
+        this.expireNanos = 0L;
+    }
+
+    /**
+     * @param expireMillis The amount of time a resolved value is kept, {@code 0} disables the cache.
+     */
+    void setExpireMillis(long expireMillis) {
+        this.expireNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, expireMillis));
+        this.generationMap.clear();
+    }
+
+    @NotNull V get(@NotNull UUID playerId, @NotNull String placeholder, @NotNull Function<String, V> resolver) {
+        long expireNanos = this.expireNanos;
+        if (expireNanos <= 0L) {
+            return resolver.apply(placeholder);
+        }
+
+        long now = System.nanoTime();
+        Generation<V> generation = this.generationMap.get(playerId);
+        if (generation == null || (now - generation.createdNanos) >= expireNanos) {
+            generation = new Generation<>(now);
+            this.generationMap.put(playerId, generation);
+        }
+
+        V value = generation.valueMap.get(placeholder);
+        if (value == null) {
+            value = resolver.apply(placeholder);
+            generation.valueMap.put(placeholder, value);
+        }
+
+        return value;
+    }
+
+    void invalidate(@NotNull UUID playerId) {
+        this.generationMap.remove(playerId);
+    }
+
+    private static final class Generation<V> {
+        private final long createdNanos;
+        private final Map<String, V> valueMap;
+
+        private Generation(long createdNanos) {
+            this.createdNanos = createdNanos;
+            this.valueMap = new ConcurrentHashMap<>();
+        }
+    }
+}
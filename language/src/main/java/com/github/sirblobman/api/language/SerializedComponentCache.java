@@ -0,0 +1,118 @@
+package com.github.sirblobman.api.language;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import net.md_5.bungee.api.chat.BaseComponent;
+
+import com.github.sirblobman.api.shaded.adventure.text.Component;
+
+/**
+ * Stores the serialized BungeeCord form of components that are cached by a {@link LanguageConfiguration}.
+ * Components are compared by identity and held with weak references, so entries are removed when a language is
+ * reloaded and its caches are no longer used. Components that were not registered are serialized on every call.
+ * The returned arrays are shared and must not be modified.
+ */
+final class SerializedComponentCache {
+    private static final BaseComponent[] PENDING = new BaseComponent[0];
+    private static final Map<Object, BaseComponent[]> CACHE_MAP = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Component> REFERENCE_QUEUE = new ReferenceQueue<>();
+
+    /**
+     * Allow a component to be cached. The component is serialized the first time it is sent.
+     *
+     * @param component An immutable component that will be sent many times.
+     */
+    static void register(@NotNull Component component) {
+        expungeStaleEntries();
+        WeakKey key = new WeakKey(component, REFERENCE_QUEUE);
+        CACHE_MAP.putIfAbsent(key, PENDING);
+    }
+
+    /**
+     * @param component The component to serialize.
+     * @return The cached serialized form of a registered component, or a new serialized form.
+     */
+    static BaseComponent @NotNull [] toBungee(@NotNull Component component) {
+        LookupKey lookupKey = new LookupKey(component);
+        BaseComponent[] cached = CACHE_MAP.get(lookupKey);
+        if (cached == null) {
+            return ComponentBungeeConverter.toBungee(component);
+        }
+
+        if (cached != PENDING) {
+            return cached;
+        }
+
+        BaseComponent[] serialized = ComponentBungeeConverter.toBungee(component);
+        CACHE_MAP.replace(lookupKey, PENDING, serialized);
+        return serialized;
+    }
+
+    private static void expungeStaleEntries() {
+        Reference<? extends Component> reference;
+        while ((reference = REFERENCE_QUEUE.poll()) != null) {
+            CACHE_MAP.remove(reference);
+        }
+    }
+
+    private static boolean isSameReferent(@NotNull Object referent, @Nullable Object other) {
+        if (other instanceof WeakKey) {
+            return (((WeakKey) other).get() == referent);
+        }
+
+        if (other instanceof LookupKey) {
+            return (((LookupKey) other).component == referent);
+        }
+
+        return false;
+    }
+
+    private static final class WeakKey extends WeakReference<Component> {
+        private final int hash;
+
+        private WeakKey(@NotNull Component component, @NotNull ReferenceQueue<Component> queue) {
+            super(component, queue);
+            this.hash = System.identityHashCode(component);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            Component component = get();
+            return (component != null && isSameReferent(component, other));
+        }
+    }
+
+    private static final class LookupKey {
+        private final Component component;
+
+        private LookupKey(@NotNull Component component) {
+            this.component = component;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.component);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return isSameReferent(this.component, other);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.sirblobman.api.language.metrics;
+
+/**
+ * The caches of a {@link com.github.sirblobman.api.language.LanguageConfiguration}.
+ */
+public enum CacheType {
+    MESSAGE,
+    KEYED_MESSAGE,
+    MESSAGE_LIST,
+    MODIFIABLE_MESSAGE,
+    SOUND,
+    TITLE,
+    PLAYER_LIST_INFO,
+    TEMPLATE
+}
@@ -0,0 +1,82 @@
+package com.github.sirblobman.api.language.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Cache and latency counters for a single language of a single plugin.
+ */
+public final class LanguageMetrics {
+    private final LongAdder[] requestCounterArray;
+    private final LongAdder[] missCounterArray;
+    private final LatencyHistogram parseLatency;
+    private final LatencyHistogram renderLatency;
+
+    public LanguageMetrics() {
+        CacheType[] cacheTypeArray = CacheType.values();
+        this.requestCounterArray = new LongAdder[cacheTypeArray.length];
+        this.missCounterArray = new LongAdder[cacheTypeArray.length];
+        for (int i = 0; i < cacheTypeArray.length; i++) {
+            this.requestCounterArray[i] = new LongAdder();
+            this.missCounterArray[i] = new LongAdder();
+        }
+
+        this.parseLatency = new LatencyHistogram();
+        this.renderLatency = new LatencyHistogram();
+    }
+
+    public void recordRequest(@NotNull CacheType cacheType) {
+        this.requestCounterArray[cacheType.ordinal()].increment();
+    }
+
+    public void recordMiss(@NotNull CacheType cacheType) {
+        this.missCounterArray[cacheType.ordinal()].increment();
+    }
+
+    public long getRequestCount(@NotNull CacheType cacheType) {
+        return this.requestCounterArray[cacheType.ordinal()].sum();
+    }
+
+    public long getMissCount(@NotNull CacheType cacheType) {
+        return this.missCounterArray[cacheType.ordinal()].sum();
+    }
+
+    /**
+     * @param cacheType The cache to check.
+     * @return The ratio of requests that were found in the cache, from {@code 0.0} to {@code 1.0}.
+     */
+    public double getHitRate(@NotNull CacheType cacheType) {
+        long requestCount = getRequestCount(cacheType);
+        if (requestCount == 0L) {
+            return 0.0D;
+        }
+
+        long missCount = Math.min(requestCount, getMissCount(cacheType));
+        return ((requestCount - missCount) / (double) requestCount);
+    }
+
+    /**
+     * @return The time spent parsing MiniMessage strings into components.
+     */
+    public @NotNull LatencyHistogram getParseLatency() {
+        return this.parseLatency;
+    }
+
+    /**
+     * @return The time spent applying PlaceholderAPI and replacers to cached messages.
+     */
+    public @NotNull LatencyHistogram getRenderLatency() {
+        return this.renderLatency;
+    }
+
+    public void reset() {
+        for (int i = 0; i < this.requestCounterArray.length; i++) {
+            this.requestCounterArray[i].reset();
+            this.missCounterArray[i].reset();
+        }
+
+        this.parseLatency.reset();
+        this.renderLatency.reset();
+    }
+}
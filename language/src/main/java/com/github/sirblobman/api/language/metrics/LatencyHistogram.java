@@ -0,0 +1,93 @@
+package com.github.sirblobman.api.language.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations with power-of-two nanosecond buckets.
+ * Recording a value only increments counters, so it is cheap enough to use on every message.
+ */
+public final class LatencyHistogram {
+    private static final int BUCKET_COUNT = 48;
+
+    private final LongAdder[] bucketArray;
+    private final LongAdder count;
+    private final LongAdder totalNanos;
+    private final LongAccumulator maxNanos;
+
+    public LatencyHistogram() {
+        this.bucketArray = new LongAdder[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.bucketArray[i] = new LongAdder();
+        }
+
+        this.count = new LongAdder();
+        this.totalNanos = new LongAdder();
+        this.maxNanos = new LongAccumulator(Math::max, 0L);
+    }
+
+    /**
+     * @param nanos The duration to record, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        int bucket = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+        this.bucketArray[bucket].increment();
+        this.count.increment();
+        this.totalNanos.add(value);
+        this.maxNanos.accumulate(value);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    public long getAverageNanos() {
+        long count = getCount();
+        return (count == 0L ? 0L : getTotalNanos() / count);
+    }
+
+    /**
+     * Get an upper bound for a percentile of the recorded durations.
+     * The result is the upper limit of the bucket that contains the percentile, so it may be up to twice the real value.
+     *
+     * @param percentile The percentile, from {@code 0.0} to {@code 100.0}.
+     * @return The upper bound in nanoseconds, or {@code 0} if nothing was recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+        long count = getCount();
+        if (count == 0L) {
+            return 0L;
+        }
+
+        long target = (long) Math.ceil(count * Math.min(100.0D, Math.max(0.0D, percentile)) / 100.0D);
+        long seen = 0L;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += this.bucketArray[i].sum();
+            if (seen >= target) {
+                long upperBound = (i == 0 ? 0L : (1L << i) - 1L);
+                return Math.min(upperBound, getMaxNanos());
+            }
+        }
+
+        return getMaxNanos();
+    }
+
+    public void reset() {
+        for (LongAdder bucket : this.bucketArray) {
+            bucket.reset();
+        }
+
+        this.count.reset();
+        this.totalNanos.reset();
+        this.maxNanos.reset();
+    }
+}
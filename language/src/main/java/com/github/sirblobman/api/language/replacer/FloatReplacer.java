@@ -6,27 +6,58 @@ import java.text.DecimalFormatSymbols;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.github.sirblobman.api.language.NumberFormatter;
 import com.github.sirblobman.api.shaded.adventure.text.Component;
 
 public final class FloatReplacer extends Replacer {
     private final float replacement;
     private final DecimalFormat format;
-    private final DecimalFormatSymbols symbols;
+    private final NumberFormatter formatter;
 
     public FloatReplacer(@NotNull String target, float replacement) {
-        this(target, replacement, null);
+        this(target, replacement, (DecimalFormat) null);
     }
 
     public FloatReplacer(@NotNull String target, float replacement, @Nullable DecimalFormat format) {
-        this(target, replacement, format, null);
+        this(target, replacement, format, (NumberFormatter) null);
     }
 
-    public FloatReplacer(@NotNull String target, float replacement,
-                         @Nullable DecimalFormat format, @Nullable DecimalFormatSymbols symbols) {
+    /**
+     * A format with symbols uses a cached {@link NumberFormatter}, so the format is not copied for every message.
+     * A format without symbols is locked while it is used, because a {@link DecimalFormat} is not thread-safe.
+     * Use {@link #of(String, float, NumberFormatter)} for a format that is shared by many messages.
+     */
+    public FloatReplacer(@NotNull String target, float replacement, @Nullable DecimalFormat format,
+                         @Nullable DecimalFormatSymbols symbols) {
+        this(target, replacement, format, createFormatter(format, symbols));
+    }
+
+    private FloatReplacer(@NotNull String target, float replacement, @Nullable DecimalFormat format,
+                          @Nullable NumberFormatter formatter) {
         super(target);
         this.replacement = replacement;
         this.format = format;
-        this.symbols = symbols;
+        this.formatter = formatter;
+    }
+
+    /**
+     * @param target      The placeholder to replace.
+     * @param replacement The number to insert.
+     * @param formatter   The formatter for the number, or {@code null} to insert the number as-is.
+     * @return A replacer that formats the number with the formatter.
+     */
+    public static @NotNull FloatReplacer of(@NotNull String target, float replacement,
+                                            @Nullable NumberFormatter formatter) {
+        return new FloatReplacer(target, replacement, null, formatter);
+    }
+
+    private static @Nullable NumberFormatter createFormatter(@Nullable DecimalFormat format,
+                                                             @Nullable DecimalFormatSymbols symbols) {
+        if (format == null || symbols == null) {
+            return null;
+        }
+
+        return NumberFormatter.of(format, symbols);
     }
 
     @Override
@@ -37,16 +68,17 @@ public final class FloatReplacer extends Replacer {
 
     @Override
     public @NotNull String getReplacementString() {
-        if (this.format == null) {
-            return Double.toString(this.replacement);
+        if (this.formatter != null) {
+            return this.formatter.format(this.replacement);
         }
 
         DecimalFormat decimalFormat = this.format;
-        if (this.symbols != null) {
-            decimalFormat = (DecimalFormat) decimalFormat.clone();
-            decimalFormat.setDecimalFormatSymbols(this.symbols);
+        if (decimalFormat == null) {
+            return Double.toString(this.replacement);
         }
 
-        return decimalFormat.format(this.replacement);
+        synchronized (decimalFormat) {
+            return decimalFormat.format(this.replacement);
+        }
     }
 }
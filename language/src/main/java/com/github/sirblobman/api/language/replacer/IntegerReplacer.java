@@ -1,15 +1,28 @@
 package com.github.sirblobman.api.language.replacer;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import com.github.sirblobman.api.language.NumberFormatter;
 import com.github.sirblobman.api.shaded.adventure.text.Component;
 
 public final class IntegerReplacer extends Replacer {
     private final int replacement;
+    private final NumberFormatter formatter;
 
     public IntegerReplacer(@NotNull String target, int replacement) {
+        this(target, replacement, null);
+    }
+
+    /**
+     * @param target      The placeholder to replace.
+     * @param replacement The number to insert.
+     * @param formatter   The formatter for the number, or {@code null} to insert the number as-is.
+     */
+    public IntegerReplacer(@NotNull String target, int replacement, @Nullable NumberFormatter formatter) {
         super(target);
         this.replacement = replacement;
+        this.formatter = formatter;
     }
 
     private int getInteger() {
@@ -18,13 +31,22 @@ public final class IntegerReplacer extends Replacer {
 
     @Override
     public @NotNull Component getReplacement() {
-        int replacement = getInteger();
+        if (this.formatter == null) {
+            int replacement = getInteger();
+            return Component.text(replacement);
+        }
+
+        String replacement = getReplacementString();
         return Component.text(replacement);
     }
 
     @Override
     public @NotNull String getReplacementString() {
         int replacement = getInteger();
-        return Integer.toString(replacement);
+        if (this.formatter == null) {
+            return Integer.toString(replacement);
+        }
+
+        return this.formatter.format(replacement);
     }
 }
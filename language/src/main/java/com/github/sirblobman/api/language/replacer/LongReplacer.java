@@ -1,15 +1,28 @@
 package com.github.sirblobman.api.language.replacer;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import com.github.sirblobman.api.language.NumberFormatter;
 import com.github.sirblobman.api.shaded.adventure.text.Component;
 
 public final class LongReplacer extends Replacer {
     private final long replacement;
+    private final NumberFormatter formatter;
 
     public LongReplacer(String target, long replacement) {
+        this(target, replacement, null);
+    }
+
+    /**
+     * @param target      The placeholder to replace.
+     * @param replacement The number to insert.
+     * @param formatter   The formatter for the number, or {@code null} to insert the number as-is.
+     */
+    public LongReplacer(@NotNull String target, long replacement, @Nullable NumberFormatter formatter) {
         super(target);
         this.replacement = replacement;
+        this.formatter = formatter;
     }
 
     private long getLong() {
@@ -18,13 +31,22 @@ public final class LongReplacer extends Replacer {
 
     @Override
     public @NotNull Component getReplacement() {
-        long replacement = getLong();
+        if (this.formatter == null) {
+            long replacement = getLong();
+            return Component.text(replacement);
+        }
+
+        String replacement = getReplacementString();
         return Component.text(replacement);
     }
 
     @Override
     public @NotNull String getReplacementString() {
         long replacement = getLong();
-        return Long.toString(replacement);
+        if (this.formatter == null) {
+            return Long.toString(replacement);
+        }
+
+        return this.formatter.format(replacement);
     }
 }
@@ -26,6 +26,79 @@ public abstract class Replacer {
         return original.replace(target, replacement);
     }
 
+    /**
+     * Replace the targets of multiple replacers in one pass over the original string.
+     * Targets are matched literally. When two targets match at the same index, the earlier replacer wins.
+     * Replacement text is never scanned again, so a replacement can not be replaced by a later replacer.
+     *
+     * @param original      The string that contains the targets.
+     * @param replacerArray The replacers to apply.
+     * @return The original string with every target replaced.
+     */
+    public static @NotNull String replaceAll(@NotNull String original, Replacer @NotNull ... replacerArray) {
+        int replacerCount = replacerArray.length;
+        if (replacerCount == 0 || original.isEmpty()) {
+            return original;
+        }
+
+        int[] matchIndexArray = new int[replacerCount];
+        int nextReplacer = -1;
+        for (int i = 0; i < replacerCount; i++) {
+            String target = replacerArray[i].getTarget();
+            int matchIndex = (target.isEmpty() ? -1 : original.indexOf(target));
+            matchIndexArray[i] = matchIndex;
+
+            if (matchIndex >= 0 && (nextReplacer < 0 || matchIndex < matchIndexArray[nextReplacer])) {
+                nextReplacer = i;
+            }
+        }
+
+        if (nextReplacer < 0) {
+            return original;
+        }
+
+        String[] replacementArray = new String[replacerCount];
+        StringBuilder builder = new StringBuilder(original.length() + 16);
+        int position = 0;
+
+        while (nextReplacer >= 0) {
+            int matchIndex = matchIndexArray[nextReplacer];
+            builder.append(original, position, matchIndex);
+
+            String replacement = replacementArray[nextReplacer];
+            if (replacement == null) {
+                replacement = replacerArray[nextReplacer].getReplacementString();
+                replacementArray[nextReplacer] = replacement;
+            }
+
+            builder.append(replacement);
+            position = (matchIndex + replacerArray[nextReplacer].getTarget().length());
+
+            nextReplacer = -1;
+            for (int i = 0; i < replacerCount; i++) {
+                int index = matchIndexArray[i];
+                if (index < 0) {
+                    continue;
+                }
+
+                if (index < position) {
+                    index = original.indexOf(replacerArray[i].getTarget(), position);
+                    matchIndexArray[i] = index;
+                    if (index < 0) {
+                        continue;
+                    }
+                }
+
+                if (nextReplacer < 0 || index < matchIndexArray[nextReplacer]) {
+                    nextReplacer = i;
+                }
+            }
+        }
+
+        builder.append(original, position, original.length());
+        return builder.toString();
+    }
+
     public final @NotNull TextReplacementConfig asReplacementConfig() {
         String target = getTarget();
         Component replacement = getReplacement();
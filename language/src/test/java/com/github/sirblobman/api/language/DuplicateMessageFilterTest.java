@@ -0,0 +1,105 @@
+package com.github.sirblobman.api.language;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.sirblobman.api.language.replacer.Replacer;
+import com.github.sirblobman.api.language.replacer.StringReplacer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class DuplicateMessageFilterTest {
+    private static final long WINDOW_MILLIS = 60_000L;
+    private static final int KEY_COUNT = 100;
+
+    @Test
+    void keysStaySuppressedAfterResize() {
+        MessageKeyRegistry registry = new MessageKeyRegistry();
+        DuplicateMessageFilter filter = createFilter(registry);
+        UUID playerId = UUID.randomUUID();
+        Replacer[] replacerArray = createReplacers("first");
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            MessageKey key = registry.get(getPath(i));
+            assertTrue(filter.shouldSend(playerId, key, replacerArray), key.getPath());
+        }
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            MessageKey key = registry.get(getPath(i));
+            assertFalse(filter.shouldSend(playerId, key, replacerArray), key.getPath());
+        }
+    }
+
+    @Test
+    void differentReplacementsAreSentAfterResize() {
+        MessageKeyRegistry registry = new MessageKeyRegistry();
+        DuplicateMessageFilter filter = createFilter(registry);
+        UUID playerId = UUID.randomUUID();
+        Replacer[] firstArray = createReplacers("first");
+        Replacer[] secondArray = createReplacers("second");
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            MessageKey key = registry.get(getPath(i));
+            filter.shouldSend(playerId, key, firstArray);
+        }
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            MessageKey key = registry.get(getPath(i));
+            assertTrue(filter.shouldSend(playerId, key, secondArray), key.getPath());
+            assertFalse(filter.shouldSend(playerId, key, secondArray), key.getPath());
+        }
+    }
+
+    @Test
+    void playersAndKeysWithoutWindowsAreSeparate() {
+        MessageKeyRegistry registry = new MessageKeyRegistry();
+        DuplicateMessageFilter filter = createFilter(registry);
+        UUID firstPlayerId = UUID.randomUUID();
+        UUID secondPlayerId = UUID.randomUUID();
+        Replacer[] replacerArray = createReplacers("value");
+
+        MessageKey key = registry.get(getPath(0));
+        assertTrue(filter.shouldSend(firstPlayerId, key, replacerArray));
+        assertTrue(filter.shouldSend(secondPlayerId, key, replacerArray));
+        assertFalse(filter.shouldSend(firstPlayerId, key, replacerArray));
+
+        MessageKey otherKey = registry.get("test.no-window");
+        assertTrue(filter.shouldSend(firstPlayerId, otherKey, replacerArray));
+        assertTrue(filter.shouldSend(firstPlayerId, otherKey, replacerArray));
+    }
+
+    @Test
+    void hashSeparatesTargetsAndReplacements() {
+        Replacer[] firstArray = {new StringReplacer("{a}", "bc")};
+        Replacer[] secondArray = {new StringReplacer("{a}b", "c")};
+        assertNotEquals(DuplicateMessageFilter.hash(firstArray), DuplicateMessageFilter.hash(secondArray));
+    }
+
+    private static @NotNull DuplicateMessageFilter createFilter(@NotNull MessageKeyRegistry registry) {
+        Map<String, Long> windowMap = new HashMap<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            windowMap.put(getPath(i), WINDOW_MILLIS);
+        }
+
+        DuplicateMessageFilter filter = new DuplicateMessageFilter(registry);
+        filter.setConfiguredWindows(windowMap);
+        return filter;
+    }
+
+    private static @NotNull String getPath(int number) {
+        return ("test.message-" + number);
+    }
+
+    private static Replacer @NotNull [] createReplacers(@NotNull String value) {
+        return new Replacer[] {
+                new StringReplacer("{player}", "Steve"), new StringReplacer("{value}", value)
+        };
+    }
+}
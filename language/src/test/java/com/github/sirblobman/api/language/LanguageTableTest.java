@@ -0,0 +1,98 @@
+package com.github.sirblobman.api.language;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LanguageTableTest {
+    @Test
+    void writeAndReadKeepEveryPath() throws IOException {
+        LanguageTable table = LanguageTable.flatten(createConfiguration());
+        LanguageTable copy = roundTrip(table);
+
+        assertEquals(table.getPaths(), copy.getPaths());
+        for (String path : table.getPaths()) {
+            assertEquals(table.isSection(path), copy.isSection(path), path);
+            assertEquals(table.isList(path), copy.isList(path), path);
+            assertEquals(table.getString(path), copy.getString(path), path);
+        }
+    }
+
+    @Test
+    void writeAndReadKeepValueTypes() throws IOException {
+        LanguageTable copy = roundTrip(LanguageTable.flatten(createConfiguration()));
+
+        assertTrue(copy.isSection("error"));
+        assertTrue(copy.isString("error.no-permission"));
+        assertEquals("héllo ✓", copy.getString("unicode"));
+        assertEquals(42, copy.getInt("number.integer", 0));
+        assertEquals("9000000000", copy.getString("number.long"));
+        assertEquals(2.5D, copy.getDouble("number.double", 0.0D));
+        assertEquals("true", copy.getString("enabled"));
+    }
+
+    @Test
+    void writeAndReadKeepStringLists() throws IOException {
+        LanguageTable copy = roundTrip(LanguageTable.flatten(createConfiguration()));
+
+        assertTrue(copy.isList("help"));
+        assertEquals(Arrays.asList("line one", "", "line three"), copy.getStringList("help"));
+        assertTrue(copy.isList("empty-list"));
+        assertEquals(Collections.emptyList(), copy.getStringList("empty-list"));
+        assertFalse(copy.isList("prefix"));
+    }
+
+    @Test
+    void writeAndReadKeepMergedLists() throws IOException {
+        YamlConfiguration child = new YamlConfiguration();
+        child.set("help", "Only one line.");
+
+        LanguageTable parent = LanguageTable.flatten(createConfiguration());
+        LanguageTable merged = LanguageTable.merge(parent, LanguageTable.flatten(child));
+        LanguageTable copy = roundTrip(merged);
+
+        assertFalse(copy.isList("help"));
+        assertEquals("Only one line.", copy.getString("help"));
+        assertTrue(copy.isList("empty-list"));
+        assertEquals("<gray>[Test]</gray>", copy.getString("prefix"));
+    }
+
+    private static @NotNull YamlConfiguration createConfiguration() {
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.set("prefix", "<gray>[Test]</gray>");
+        configuration.set("error.no-permission", "You do not have permission.");
+        configuration.set("help", Arrays.asList("line one", "", "line three"));
+        configuration.set("empty-list", Collections.emptyList());
+        configuration.set("number.integer", 42);
+        configuration.set("number.long", 9000000000L);
+        configuration.set("number.double", 2.5D);
+        configuration.set("enabled", true);
+        configuration.set("unicode", "héllo ✓");
+        return configuration;
+    }
+
+    private static @NotNull LanguageTable roundTrip(@NotNull LanguageTable table) throws IOException {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(byteStream)) {
+            table.write(output);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(byteStream.toByteArray());
+        LanguageTable copy = LanguageTable.read(buffer);
+        assertEquals(0, buffer.remaining());
+        return copy;
+    }
+}
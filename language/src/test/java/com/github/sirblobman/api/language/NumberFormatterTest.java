@@ -0,0 +1,95 @@
+package com.github.sirblobman.api.language;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class NumberFormatterTest {
+    private static final Locale[] LOCALES = {
+            Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.forLanguageTag("th-TH-u-nu-thai")
+    };
+
+    private static final String[] PATTERNS = {
+            "0.00", "#,##0.00", "#,##0", "$#,##0.00", "0.0 pts", "#,##0;(#,##0)", "000", "#,##0%", "0.00E0", "##0.###E0"
+    };
+
+    private static final long[] WHOLE_VALUES = {
+            0L, 7L, -7L, 999L, -1000L, 1234567L, -1234567L, Long.MAX_VALUE, Long.MIN_VALUE
+    };
+
+    private static final double[] DECIMAL_VALUES = {
+            0.0D, 0.5D, -0.5D, 1234.5678D, -1234.5678D, -0.001D, 98765432.1D
+    };
+
+    @Test
+    void wholeNumbersMatchDecimalFormat() {
+        for (Locale locale : LOCALES) {
+            for (String pattern : PATTERNS) {
+                NumberFormatter formatter = new NumberFormatter(locale, pattern);
+                DecimalFormat expectedFormat = createFormat(locale, pattern);
+                expectedFormat.setMinimumFractionDigits(0);
+                expectedFormat.setMaximumFractionDigits(0);
+
+                for (long value : WHOLE_VALUES) {
+                    String message = (locale + " '" + pattern + "' " + value);
+                    assertEquals(expectedFormat.format(value), formatter.format(value), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void decimalNumbersMatchDecimalFormat() {
+        for (Locale locale : LOCALES) {
+            for (String pattern : PATTERNS) {
+                NumberFormatter formatter = new NumberFormatter(locale, pattern);
+                DecimalFormat expectedFormat = createFormat(locale, pattern);
+
+                for (double value : DECIMAL_VALUES) {
+                    String message = (locale + " '" + pattern + "' " + value);
+                    assertEquals(expectedFormat.format(value), formatter.format(value), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void prefixAndSuffixAreKept() {
+        NumberFormatter currency = new NumberFormatter(Locale.US, "$#,##0.00");
+        assertEquals("$1,234", currency.format(1234L));
+        assertEquals("-$1,234", currency.format(-1234L));
+        assertEquals("$1,234.50", currency.format(1234.5D));
+
+        NumberFormatter points = new NumberFormatter(Locale.US, "0.0 pts;(0.0) pts");
+        assertEquals("(5) pts", points.format(-5L));
+        assertEquals("(5.0) pts", points.format(-5.0D));
+    }
+
+    @Test
+    void formatWithSymbolsIsCached() {
+        DecimalFormat format = new DecimalFormat("#,##0.00");
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.GERMANY);
+        NumberFormatter formatter = NumberFormatter.of(format, symbols);
+        assertEquals("12.345,68", formatter.format(12345.678D));
+        assertEquals("12.345", formatter.format(12345L));
+
+        DecimalFormatSymbols sameSymbols = DecimalFormatSymbols.getInstance(Locale.GERMANY);
+        assertSame(formatter, NumberFormatter.of(new DecimalFormat("#,##0.00"), sameSymbols));
+
+        DecimalFormatSymbols frenchSymbols = DecimalFormatSymbols.getInstance(Locale.FRANCE);
+        assertNotSame(formatter, NumberFormatter.of(format, frenchSymbols));
+    }
+
+    private static @NotNull DecimalFormat createFormat(@NotNull Locale locale, @NotNull String pattern) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        return new DecimalFormat(pattern, symbols);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.sirblobman.api.language.replacer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class ReplacerTest {
+    @Test
+    void replaceTargetsThatShareAPrefix() {
+        Replacer shortReplacer = new StringReplacer("{a}", "1");
+        Replacer longReplacer = new StringReplacer("{ab}", "2");
+        assertEquals("1 2 1", Replacer.replaceAll("{a} {ab} {a}", shortReplacer, longReplacer));
+        assertEquals("1 2 1", Replacer.replaceAll("{a} {ab} {a}", longReplacer, shortReplacer));
+    }
+
+    @Test
+    void earliestMatchWinsWhenTargetsOverlap() {
+        Replacer first = new StringReplacer("ab", "X");
+        Replacer second = new StringReplacer("b", "Y");
+        assertEquals("XY", Replacer.replaceAll("abb", first, second));
+        assertEquals("XY", Replacer.replaceAll("abb", second, first));
+        assertEquals("YX", Replacer.replaceAll("bab", second, first));
+    }
+
+    @Test
+    void earlierReplacerWinsAtTheSameIndex() {
+        Replacer shortReplacer = new StringReplacer("a", "1");
+        Replacer longReplacer = new StringReplacer("ab", "2");
+        assertEquals("1b", Replacer.replaceAll("ab", shortReplacer, longReplacer));
+        assertEquals("2", Replacer.replaceAll("ab", longReplacer, shortReplacer));
+    }
+
+    @Test
+    void repeatedTargetMatchesLikeStringReplace() {
+        Replacer replacer = new StringReplacer("aa", "x");
+        assertEquals("aaaaa".replace("aa", "x"), Replacer.replaceAll("aaaaa", replacer));
+    }
+
+    @Test
+    void replacementIsNotScannedAgain() {
+        Replacer first = new StringReplacer("{a}", "{b}");
+        Replacer second = new StringReplacer("{b}", "B");
+        assertEquals("{b} B", Replacer.replaceAll("{a} {b}", first, second));
+    }
+
+    @Test
+    void emptyTargetsAndMissingTargetsAreIgnored() {
+        Replacer empty = new StringReplacer("", "x");
+        Replacer missing = new StringReplacer("{missing}", "x");
+        assertEquals("abc", Replacer.replaceAll("abc", empty, missing));
+        assertEquals("abc", Replacer.replaceAll("abc"));
+        assertEquals("", Replacer.replaceAll("", missing));
+    }
+}
@@ -9,6 +9,7 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import com.github.sirblobman.api.configuration.ConfigurationManager;
+import com.github.sirblobman.api.configuration.ConfigurationSnapshot;
 import com.github.sirblobman.api.configuration.PlayerDataManager;
 import com.github.sirblobman.api.folia.FoliaHelper;
 import com.github.sirblobman.api.language.LanguageManager;
@@ -17,10 +18,11 @@ import com.github.sirblobman.api.nms.MultiVersionHandler;
 public abstract class ConfigurablePlugin extends JavaPlugin implements IMultiVersionPlugin {
     private final ConfigurationManager configurationManager;
     private final MultiVersionHandler multiVersionHandler;
-    private final PlayerDataManager playerDataManager;
+    private PlayerDataManager playerDataManager;
     private final LanguageManager languageManager;
 
     private final FoliaHelper foliaHelper;
+    private final ConfigurationSnapshot<Boolean> debugModeSnapshot;
 
     public ConfigurablePlugin() {
         this.configurationManager = new ConfigurationManager(this);
@@ -28,6 +30,8 @@ public abstract class ConfigurablePlugin extends JavaPlugin implements IMultiVer
         this.playerDataManager = new PlayerDataManager(this);
         this.languageManager = new LanguageManager(this.configurationManager);
         this.foliaHelper = new FoliaHelper(this);
+        this.debugModeSnapshot = this.configurationManager.bind("config.yml",
+                section -> section.getBoolean("debug-mode", false));
     }
 
     @Override
@@ -36,8 +40,30 @@ public abstract class ConfigurablePlugin extends JavaPlugin implements IMultiVer
     @Override
     public abstract void onEnable();
 
+    /**
+     * Calls {@link #onPluginDisable()}, then stops the background threads of the language manager
+     * and writes changed configuration files and player data.
+     */
     @Override
-    public abstract void onDisable();
+    public final void onDisable() {
+        try {
+            onPluginDisable();
+        } finally {
+            LanguageManager languageManager = getLanguageManager();
+            languageManager.onPluginDisable();
+
+            ConfigurationManager configurationManager = getConfigurationManager();
+            configurationManager.flushAll();
+
+            PlayerDataManager playerDataManager = getPlayerDataManager();
+            playerDataManager.shutdown();
+        }
+    }
+
+    /**
+     * Called when the plugin is disabled, before changed configuration files and player data are written.
+     */
+    protected abstract void onPluginDisable();
 
     @Override
     public final void saveDefaultConfig() {
@@ -85,7 +111,15 @@ public abstract class ConfigurablePlugin extends JavaPlugin implements IMultiVer
         return this.multiVersionHandler;
     }
 
-    public final @NotNull PlayerDataManager getPlayerDataManager() {
+    /**
+     * @return The player data manager. A plugin that is enabled again after it was disabled gets a new manager,
+     * because the old one was shut down.
+     */
+    public final synchronized @NotNull PlayerDataManager getPlayerDataManager() {
+        if (this.playerDataManager.isClosed() && isEnabled()) {
+            this.playerDataManager = new PlayerDataManager(this);
+        }
+
         return this.playerDataManager;
     }
 
@@ -93,10 +127,11 @@ public abstract class ConfigurablePlugin extends JavaPlugin implements IMultiVer
         return this.languageManager;
     }
 
+    /**
+     * @return {@code true} if 'debug-mode' is enabled in 'config.yml'. The value is only read again after a reload.
+     */
     public boolean isDebugMode() {
-        ConfigurationManager configurationManager = getConfigurationManager();
-        YamlConfiguration configuration = configurationManager.get("config.yml");
-        return configuration.getBoolean("debug-mode", false);
+        return this.debugModeSnapshot.get();
     }
 
     public void printDebug(@NotNull String message) {
@@ -12,6 +12,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -41,11 +42,23 @@ public final class HangarUpdateManager {
     private final FoliaPlugin plugin;
     private final Map<String, HangarInfo> pluginInfoMap;
     private final Map<String, String> hangarVersionCache;
+    private BooleanSupplier enabledSupplier;
 
     public HangarUpdateManager(@NotNull FoliaPlugin plugin) {
         this.plugin = plugin;
         this.pluginInfoMap = new HashMap<>();
         this.hangarVersionCache = new HashMap<>();
+        this.enabledSupplier = null;
+    }
+
+    /**
+     * By default, the 'update-checker' option is read from the plugin configuration every time updates are checked.
+     *
+     * @param enabledSupplier A supplier that returns {@code true} if update checking is enabled,
+     *                        or {@code null} to read the plugin configuration.
+     */
+    public void setEnabledSupplier(@Nullable BooleanSupplier enabledSupplier) {
+        this.enabledSupplier = enabledSupplier;
     }
 
     /**
@@ -110,6 +123,11 @@ public final class HangarUpdateManager {
     }
 
     private boolean isEnabled() {
+        BooleanSupplier enabledSupplier = this.enabledSupplier;
+        if (enabledSupplier != null) {
+            return enabledSupplier.getAsBoolean();
+        }
+
         Plugin plugin = getPlugin().getPlugin();
         FileConfiguration configuration = plugin.getConfig();
         return configuration.getBoolean("update-checker", false);
@@ -10,6 +10,7 @@ import java.net.URLConnection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,11 +40,23 @@ public final class SpigotUpdateManager {
     private final FoliaPlugin plugin;
     private final Map<String, Long> pluginResourceMap;
     private final Map<String, String> spigotVersionCache;
+    private BooleanSupplier enabledSupplier;
 
     public SpigotUpdateManager(@NotNull FoliaPlugin plugin) {
         this.plugin = plugin;
         this.pluginResourceMap = new HashMap<>();
         this.spigotVersionCache = new HashMap<>();
+        this.enabledSupplier = null;
+    }
+
+    /**
+     * By default, the 'update-checker' option is read from the plugin configuration every time updates are checked.
+     *
+     * @param enabledSupplier A supplier that returns {@code true} if update checking is enabled,
+     *                        or {@code null} to read the plugin configuration.
+     */
+    public void setEnabledSupplier(@Nullable BooleanSupplier enabledSupplier) {
+        this.enabledSupplier = enabledSupplier;
     }
 
     /**
@@ -142,6 +155,11 @@ public final class SpigotUpdateManager {
     }
 
     private boolean isEnabled() {
+        BooleanSupplier enabledSupplier = this.enabledSupplier;
+        if (enabledSupplier != null) {
+            return enabledSupplier.getAsBoolean();
+        }
+
         FileConfiguration config = this.plugin.getPlugin().getConfig();
         return config.getBoolean("update-checker", false);
     }
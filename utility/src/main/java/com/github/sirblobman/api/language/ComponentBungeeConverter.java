@@ -9,7 +9,22 @@ import com.github.sirblobman.api.shaded.adventure.text.Component;
 import com.github.sirblobman.api.shaded.adventure.text.serializer.bungeecord.BungeeComponentSerializer;
 
 public final class ComponentBungeeConverter {
+    private static BungeeComponentSerializer serializer;
+
+    /**
+     * @return The serializer for the server version. The version is only checked on the first call.
+     */
     public static @NotNull BungeeComponentSerializer getSerializer() {
+        BungeeComponentSerializer serializer = ComponentBungeeConverter.serializer;
+        if (serializer == null) {
+            serializer = createSerializer();
+            ComponentBungeeConverter.serializer = serializer;
+        }
+
+        return serializer;
+    }
+
+    private static @NotNull BungeeComponentSerializer createSerializer() {
         int minorVersion = VersionUtility.getMinorVersion();
         if (minorVersion < 16) {
             return BungeeComponentSerializer.legacy();
@@ -15,6 +15,8 @@ import com.github.sirblobman.api.shaded.adventure.text.serializer.legacy.LegacyC
 import com.github.sirblobman.api.shaded.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 public final class ComponentHelper {
+    private static GsonComponentSerializer gsonSerializer;
+
     public static @NotNull LegacyComponentSerializer getLegacySerializer() {
         return LegacyComponentSerializer.legacySection();
     }
@@ -23,7 +25,20 @@ public final class ComponentHelper {
         return PlainTextComponentSerializer.plainText();
     }
 
+    /**
+     * @return The gson serializer for the server version. The version is only checked on the first call.
+     */
     public static @NotNull GsonComponentSerializer getGsonSerializer() {
+        GsonComponentSerializer serializer = gsonSerializer;
+        if (serializer == null) {
+            serializer = createGsonSerializer();
+            gsonSerializer = serializer;
+        }
+
+        return serializer;
+    }
+
+    private static @NotNull GsonComponentSerializer createGsonSerializer() {
         int minorVersion = VersionUtility.getMinorVersion();
         if (minorVersion < 16) {
             return GsonComponentSerializer.colorDownsamplingGson();